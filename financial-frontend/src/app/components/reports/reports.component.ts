@@ -9,7 +9,7 @@ import { MatSelectModule } from '@angular/material/select';
 import { MatTableModule } from '@angular/material/table';
 import { MatChipsModule } from '@angular/material/chips';
 import { Chart, ChartConfiguration, ChartType, registerables } from 'chart.js';
-import { FinancialService } from '../../services/financial.service';
+import { FinancialService, YearlyComparison } from '../../services/financial.service';
 
 Chart.register(...registerables);
 
@@ -121,6 +121,19 @@ Chart.register(...registerables);
           </mat-card>
         </div>
 
+        <!-- Comparativo Anual -->
+        <mat-card class="chart-card yearly-card">
+          <mat-card-header>
+            <mat-card-title>
+              <mat-icon>bar_chart</mat-icon>
+              Comparativo Anual ({{ selectedYear - 1 }} x {{ selectedYear }})
+            </mat-card-title>
+          </mat-card-header>
+          <mat-card-content>
+            <canvas id="yearlyChart" width="800" height="300"></canvas>
+          </mat-card-content>
+        </mat-card>
+
         <!-- Tabela de Transações -->
         <mat-card class="transactions-report-card">
           <mat-card-header>
@@ -355,6 +368,10 @@ Chart.register(...registerables);
       color: #1976d2;
     }
 
+    .yearly-card {
+      margin-bottom: 32px;
+    }
+
     .transactions-report-card {
       border-radius: 16px;
       box-shadow: 0 4px 12px rgba(0, 0, 0, 0.1);
@@ -492,6 +509,8 @@ Chart.register(...registerables);
 })
 export class ReportsComponent implements OnInit {
   reportData: any = null;
+  yearlyData: YearlyComparison[] = [];
+  private yearlyChart?: Chart;
   selectedMonth: number = new Date().getMonth() + 1;
   selectedYear: number = new Date().getFullYear();
   displayedColumns: string[] = ['date', 'description', 'category', 'type', 'amount'];
@@ -521,6 +540,19 @@ export class ReportsComponent implements OnInit {
         console.error('Erro ao carregar relatório:', error);
       }
     });
+
+    // Os dois anos vêm em uma única chamada, já com os 12 meses preenchidos
+    this.financialService.getYearlyComparison([this.selectedYear - 1, this.selectedYear]).subscribe({
+      next: (data) => {
+        this.yearlyData = data;
+        setTimeout(() => {
+          this.createYearlyChart();
+        }, 100);
+      },
+      error: (error) => {
+        console.error('Erro ao carregar comparativo anual:', error);
+      }
+    });
   }
 
   private createCharts() {
@@ -595,4 +627,36 @@ export class ReportsComponent implements OnInit {
       }
     });
   }
+
+  private createYearlyChart() {
+    const canvas = document.getElementById('yearlyChart') as HTMLCanvasElement;
+    if (!canvas || this.yearlyData.length === 0) return;
+
+    const ctx = canvas.getContext('2d');
+    if (!ctx) return;
+
+    this.yearlyChart?.destroy();
+
+    const colors = ['#90caf9', '#1976d2'];
+    this.yearlyChart = new Chart(ctx, {
+      type: 'bar',
+      data: {
+        labels: this.months.map(month => month.substring(0, 3)),
+        datasets: this.yearlyData.map((year, index) => ({
+          label: `Saldo ${year.year}`,
+          data: year.months.map(month => month.balance),
+          backgroundColor: colors[index % colors.length]
+        }))
+      },
+      options: {
+        responsive: true,
+        maintainAspectRatio: false,
+        plugins: {
+          legend: {
+            position: 'bottom'
+          }
+        }
+      }
+    });
+  }
 }
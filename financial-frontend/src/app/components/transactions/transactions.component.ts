@@ -262,6 +262,13 @@ export class TransactionDialogComponent implements OnInit {
               <tr mat-row *matRowDef="let row; columns: displayedColumns;"></tr>
             </table>
 
+            <div *ngIf="nextCursor" class="load-more">
+              <button mat-stroked-button color="primary" [disabled]="loadingMore" (click)="loadMore()">
+                <mat-icon>expand_more</mat-icon>
+                Carregar mais
+              </button>
+            </div>
+
             <div *ngIf="transactions.length === 0" class="no-data">
               <mat-icon>info</mat-icon>
               <p>Nenhuma transação encontrada</p>
@@ -330,6 +337,12 @@ export class TransactionDialogComponent implements OnInit {
       font-weight: 600;
     }
 
+    .load-more {
+      display: flex;
+      justify-content: center;
+      padding: 16px;
+    }
+
     .no-data {
       display: flex;
       flex-direction: column;
@@ -365,6 +378,8 @@ export class TransactionDialogComponent implements OnInit {
 })
 export class TransactionsComponent implements OnInit {
   transactions: Transaction[] = [];
+  nextCursor?: string;
+  loadingMore = false;
   displayedColumns: string[] = ['date', 'description', 'category', 'amount', 'actions'];
 
   constructor(
@@ -378,13 +393,34 @@ export class TransactionsComponent implements OnInit {
   }
 
   loadTransactions() {
-    this.financialService.getTransactions().subscribe({
-      next: (transactions) => {
-        this.transactions = transactions;
+    this.financialService.getTransactionPage().subscribe({
+      next: (page) => {
+        this.transactions = page.items;
+        this.nextCursor = page.nextCursor;
+      },
+      error: (error) => {
+        console.error('Erro ao carregar transações:', error);
+        this.snackBar.open('Erro ao carregar transações', 'OK', { duration: 3000 });
+      }
+    });
+  }
+
+  loadMore() {
+    if (!this.nextCursor) {
+      return;
+    }
+
+    this.loadingMore = true;
+    this.financialService.getTransactionPage(this.nextCursor).subscribe({
+      next: (page) => {
+        this.transactions = [...this.transactions, ...page.items];
+        this.nextCursor = page.nextCursor;
+        this.loadingMore = false;
       },
       error: (error) => {
         console.error('Erro ao carregar transações:', error);
         this.snackBar.open('Erro ao carregar transações', 'OK', { duration: 3000 });
+        this.loadingMore = false;
       }
     });
   }
@@ -34,9 +34,32 @@ export interface Goal {
   startDate: string;
   targetDate: string;
   emailAlerts: boolean;
+  version?: number;
   category?: Category;
 }
 
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor?: string;
+  hasMore: boolean;
+  size: number;
+}
+
+export interface MonthlyTotals {
+  month: number;
+  income: number;
+  expense: number;
+  balance: number;
+}
+
+export interface YearlyComparison {
+  year: number;
+  totalIncome: number;
+  totalExpense: number;
+  balance: number;
+  months: MonthlyTotals[];
+}
+
 export interface DashboardData {
   totalIncome: number;
   totalExpense: number;
@@ -60,6 +83,11 @@ export class FinancialService {
     return this.http.get<Transaction[]>(`${this.apiUrl}/transactions`);
   }
 
+  getTransactionPage(cursor?: string, size = 50): Observable<CursorPage<Transaction>> {
+    const cursorParam = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+    return this.http.get<CursorPage<Transaction>>(`${this.apiUrl}/transactions/page?size=${size}${cursorParam}`);
+  }
+
   createTransaction(transaction: Transaction): Observable<Transaction> {
     return this.http.post<Transaction>(`${this.apiUrl}/transactions`, transaction);
   }
@@ -122,4 +150,8 @@ export class FinancialService {
   getMonthlyReport(year: number, month: number): Observable<any> {
     return this.http.get<any>(`${this.apiUrl}/transactions/report/monthly?year=${year}&month=${month}`);
   }
+
+  getYearlyComparison(years: number[]): Observable<YearlyComparison[]> {
+    return this.http.get<YearlyComparison[]>(`${this.apiUrl}/transactions/report/yearly?years=${years.join(',')}`);
+  }
 }
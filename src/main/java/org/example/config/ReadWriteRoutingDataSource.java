@@ -0,0 +1,35 @@
+package org.example.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Envia transações somente leitura para a réplica e todo o resto para o primário.
+ * Deve ficar atrás de um LazyConnectionDataSourceProxy para que a conexão só seja
+ * obtida depois que o flag readOnly da transação foi definido.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    public static final String REPLICA = "replica";
+
+    private final ReplicaRoutingPolicy routingPolicy;
+
+    public ReadWriteRoutingDataSource(ReplicaRoutingPolicy routingPolicy) {
+        this.routingPolicy = routingPolicy;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (readOnly && routingPolicy.canReadFromReplica()) {
+            return REPLICA;
+        }
+        if (!readOnly && TransactionSynchronizationManager.isActualTransactionActive()) {
+            // Leituras seguintes do mesmo usuário ficam no primário durante a janela configurada
+            routingPolicy.markCurrentUserWrite();
+        }
+        return PRIMARY;
+    }
+}
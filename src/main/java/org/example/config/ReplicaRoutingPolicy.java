@@ -0,0 +1,130 @@
+package org.example.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.example.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decide se uma transação somente leitura pode ir para a réplica: a réplica
+ * precisa estar configurada, com atraso dentro da tolerância, e o usuário
+ * atual não pode ter escrito dentro da janela de leitura das próprias escritas.
+ */
+@Component
+public class ReplicaRoutingPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRoutingPolicy.class);
+
+    private static final String REPLICA_LAG_SQL =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM (now() - pg_last_xact_replay_timestamp())) * 1000, 0) END";
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private ObjectProvider<DataSource> replicaDataSource;
+
+    @Value("${app.datasource.routing.max-replica-lag:2s}")
+    private Duration maxReplicaLag;
+
+    @Value("${app.datasource.routing.sticky-window:5s}")
+    private Duration stickyWindow;
+
+    private JdbcTemplate replicaJdbcTemplate;
+
+    private Cache<Long, Boolean> recentWriters;
+
+    private volatile boolean replicaHealthy;
+
+    private volatile long replicaLagMillis = -1;
+
+    @PostConstruct
+    public void init() {
+        // A janela nunca é menor que a tolerância de atraso, senão o usuário leria antes da réplica alcançá-lo
+        Duration window = stickyWindow.compareTo(maxReplicaLag) >= 0 ? stickyWindow : maxReplicaLag;
+        recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(100_000)
+                .build();
+
+        DataSource replica = replicaDataSource.getIfAvailable();
+        if (replica != null) {
+            replicaJdbcTemplate = new JdbcTemplate(replica);
+            checkReplicaLag();
+        }
+    }
+
+    public boolean canReadFromReplica() {
+        if (!replicaHealthy) {
+            return false;
+        }
+        Long userId = currentUserId();
+        return userId == null || recentWriters.getIfPresent(userId) == null;
+    }
+
+    public void markCurrentUserWrite() {
+        Long userId = currentUserId();
+        if (userId != null) {
+            markWrite(userId);
+        }
+    }
+
+    public void markWrite(Long userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval:5000}")
+    public void checkReplicaLag() {
+        if (replicaJdbcTemplate == null) {
+            return;
+        }
+        try {
+            Number lag = replicaJdbcTemplate.queryForObject(REPLICA_LAG_SQL, Number.class);
+            replicaLagMillis = lag != null ? lag.longValue() : 0;
+            boolean healthy = replicaLagMillis <= maxReplicaLag.toMillis();
+            if (healthy != replicaHealthy) {
+                logger.info("Réplica {} para leitura (atraso {} ms)", healthy ? "habilitada" : "desabilitada", replicaLagMillis);
+            }
+            replicaHealthy = healthy;
+        } catch (Exception e) {
+            if (replicaHealthy) {
+                logger.warn("Réplica indisponível, leituras voltam ao primário", e);
+            }
+            replicaHealthy = false;
+            replicaLagMillis = -1;
+        }
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("replicaConfigured", replicaJdbcTemplate != null);
+        status.put("replicaHealthy", replicaHealthy);
+        status.put("replicaLagMillis", replicaLagMillis);
+        status.put("maxReplicaLagMillis", maxReplicaLag.toMillis());
+        status.put("stickyUsers", recentWriters.estimatedSize());
+        return status;
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.config.ReplicaRoutingPolicy;
+import org.example.dto.LedgerVerificationDto;
+import org.example.entity.JobRun;
+import org.example.service.BalanceLedgerService;
+import org.example.service.ChunkedJobRunner;
+import org.example.service.EmailOutboxDispatcher;
+import org.example.service.GoalMatchIndex;
+import org.example.service.PrincipalCacheService;
+import org.example.service.ReportCacheService;
+import org.example.service.TransactionPartitionService;
+import org.example.service.UserWriteSerializer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@Tag(name = "Admin", description = "Operações administrativas e de manutenção")
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminController {
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Autowired
+    private ReportCacheService reportCacheService;
+
+    @Autowired
+    private PrincipalCacheService principalCacheService;
+
+    @Autowired
+    private GoalMatchIndex goalMatchIndex;
+
+    @Autowired
+    private TransactionPartitionService transactionPartitionService;
+
+    @Autowired
+    private ReplicaRoutingPolicy replicaRoutingPolicy;
+
+    @Autowired
+    private EmailOutboxDispatcher emailOutboxDispatcher;
+
+    @Autowired
+    private ChunkedJobRunner chunkedJobRunner;
+
+    @Autowired
+    private UserWriteSerializer userWriteSerializer;
+
+    @PostMapping("/ledger/rebuild")
+    @Operation(summary = "Reconstruir ledger", description = "Recalcula os totais de todos os usuários a partir das transações")
+    public ResponseEntity<Map<String, Integer>> rebuildLedger() {
+        int users = balanceLedgerService.rebuildAll();
+        return ResponseEntity.ok(Map.of("users", users));
+    }
+
+    @PostMapping("/ledger/rebuild/{userId}")
+    @Operation(summary = "Reconstruir ledger do usuário", description = "Recalcula os totais de um usuário")
+    public ResponseEntity<LedgerVerificationDto> rebuildUserLedger(@PathVariable Long userId) {
+        balanceLedgerService.rebuild(userId);
+        return ResponseEntity.ok(balanceLedgerService.verify(userId));
+    }
+
+    @GetMapping("/ledger/verify")
+    @Operation(summary = "Verificar ledger", description = "Lista usuários cujo ledger diverge das transações")
+    public ResponseEntity<List<LedgerVerificationDto>> verifyLedger() {
+        return ResponseEntity.ok(balanceLedgerService.verifyAll());
+    }
+
+    @GetMapping("/ledger/verify/{userId}")
+    @Operation(summary = "Verificar ledger do usuário", description = "Compara o ledger de um usuário com as transações")
+    public ResponseEntity<LedgerVerificationDto> verifyUserLedger(@PathVariable Long userId) {
+        return ResponseEntity.ok(balanceLedgerService.verify(userId));
+    }
+
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Estatísticas do cache", description = "Acertos, falhas e remoções dos caches de dashboard, relatórios, usuários autenticados e índice de metas")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(reportCacheService.getStats());
+        stats.put("principal", principalCacheService.getStats());
+        stats.put("goalIndex", goalMatchIndex.getStats());
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/partitions")
+    @Operation(summary = "Partições de transações", description = "Lista as partições mensais anexadas à tabela de transações")
+    public ResponseEntity<List<String>> listPartitions() {
+        return ResponseEntity.ok(transactionPartitionService.listPartitions());
+    }
+
+    @PostMapping("/partitions/maintain")
+    @Operation(summary = "Manter partições", description = "Cria as partições futuras e as dos meses retidos na partição default e arquiva as que excederam a retenção")
+    public ResponseEntity<Map<String, List<String>>> maintainPartitions() {
+        List<String> created = transactionPartitionService.createPartitions();
+        List<String> archived = transactionPartitionService.archiveExpiredPartitions();
+        return ResponseEntity.ok(Map.of("created", created, "archived", archived));
+    }
+
+    @GetMapping("/datasource/routing")
+    @Operation(summary = "Roteamento de leitura", description = "Estado da réplica de leitura, atraso atual e usuários fixados no primário")
+    public ResponseEntity<Map<String, Object>> getRoutingStatus() {
+        return ResponseEntity.ok(replicaRoutingPolicy.getStatus());
+    }
+
+    @GetMapping("/outbox")
+    @Operation(summary = "Outbox de e-mails", description = "Mensagens por status e estado do circuito de envio SMTP")
+    public ResponseEntity<Map<String, Object>> getOutboxStats() {
+        return ResponseEntity.ok(emailOutboxDispatcher.getStats());
+    }
+
+    @PostMapping("/outbox/requeue-dead")
+    @Operation(summary = "Reenviar e-mails descartados", description = "Devolve à fila as mensagens que esgotaram as tentativas")
+    public ResponseEntity<Map<String, Integer>> requeueDeadEmails() {
+        return ResponseEntity.ok(Map.of("requeued", emailOutboxDispatcher.requeueDead()));
+    }
+
+    @GetMapping("/jobs")
+    @Operation(summary = "Execuções de jobs", description = "Últimas execuções dos jobs agendados com checkpoint, duração e vazão")
+    public ResponseEntity<List<JobRun>> getJobRuns() {
+        return ResponseEntity.ok(chunkedJobRunner.getRecentRuns());
+    }
+
+    @GetMapping("/writes/contention")
+    @Operation(summary = "Contenção de escritas", description = "Aquisições, esperas, tempos esgotados e rejeições do lock de escrita por usuário")
+    public ResponseEntity<Map<String, Object>> getWriteContention() {
+        return ResponseEntity.ok(userWriteSerializer.getStats());
+    }
+}
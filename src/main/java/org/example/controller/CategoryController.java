@@ -3,6 +3,7 @@ package org.example.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.example.dto.CategoryViewDto;
 import org.example.entity.Category;
 import org.example.entity.User;
 import org.example.service.CategoryService;
@@ -39,20 +40,28 @@ public class CategoryController {
     }
 
     @GetMapping
-    @Operation(summary = "Listar categorias", description = "Lista todas as categorias ativas do usuário")
-    public ResponseEntity<List<Category>> getCategories(Authentication authentication) {
+    @Operation(summary = "Listar categorias", description = "Lista todas as categorias ativas do usuário (entity=true retorna as entidades completas)")
+    public ResponseEntity<?> getCategories(@RequestParam(defaultValue = "false") boolean entity,
+                                           Authentication authentication) {
         User user = (User) authentication.getPrincipal();
-        List<Category> categories = categoryService.getCategoriesByUser(user);
+        if (entity) {
+            return ResponseEntity.ok(categoryService.getCategoriesByUser(user));
+        }
+        List<CategoryViewDto> categories = categoryService.getCategoryViewsByUser(user);
         return ResponseEntity.ok(categories);
     }
 
     @GetMapping("/type/{type}")
     @Operation(summary = "Listar por tipo", description = "Lista categorias por tipo (INCOME/EXPENSE)")
-    public ResponseEntity<List<Category>> getCategoriesByType(
+    public ResponseEntity<?> getCategoriesByType(
             @PathVariable Category.TransactionType type,
+            @RequestParam(defaultValue = "false") boolean entity,
             Authentication authentication) {
         User user = (User) authentication.getPrincipal();
-        List<Category> categories = categoryService.getCategoriesByUserAndType(user, type);
+        if (entity) {
+            return ResponseEntity.ok(categoryService.getCategoriesByUserAndType(user, type));
+        }
+        List<CategoryViewDto> categories = categoryService.getCategoryViewsByUserAndType(user, type);
         return ResponseEntity.ok(categories);
     }
 
@@ -3,10 +3,16 @@ package org.example.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.example.dto.GoalUpdateRequest;
+import org.example.dto.GoalViewDto;
 import org.example.entity.Goal;
 import org.example.entity.User;
+import org.example.exception.ConcurrentWriteException;
+import org.example.exception.ResourceNotFoundException;
 import org.example.service.GoalService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -24,7 +30,7 @@ public class GoalController {
     private GoalService goalService;
 
     @PostMapping
-    @Operation(summary = "Criar meta", description = "Cria uma nova meta financeira")
+    @Operation(summary = "Criar meta", description = "Cria uma nova meta financeira; metas de Limite de Gastos acumulam as despesas do mês corrente e reiniciam a cada mês")
     public ResponseEntity<?> createGoal(@Valid @RequestBody Goal goal,
                                        Authentication authentication) {
         try {
@@ -33,36 +39,51 @@ public class GoalController {
 
             Goal savedGoal = goalService.createGoal(goal);
             return ResponseEntity.ok(savedGoal);
+        } catch (ConcurrentWriteException e) {
+            // Não é erro do cliente: o GlobalExceptionHandler responde 429 para que a operação seja repetida
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
     @GetMapping
-    @Operation(summary = "Listar metas", description = "Lista todas as metas do usuário")
-    public ResponseEntity<List<Goal>> getGoals(Authentication authentication) {
+    @Operation(summary = "Listar metas", description = "Lista todas as metas do usuário (entity=true retorna as entidades completas)")
+    public ResponseEntity<?> getGoals(@RequestParam(defaultValue = "false") boolean entity,
+                                      Authentication authentication) {
         User user = (User) authentication.getPrincipal();
-        List<Goal> goals = goalService.getGoalsByUser(user);
+        if (entity) {
+            return ResponseEntity.ok(goalService.getGoalsByUser(user));
+        }
+        List<GoalViewDto> goals = goalService.getGoalViewsByUser(user);
         return ResponseEntity.ok(goals);
     }
 
     @GetMapping("/status/{status}")
     @Operation(summary = "Listar por status", description = "Lista metas por status")
-    public ResponseEntity<List<Goal>> getGoalsByStatus(
+    public ResponseEntity<?> getGoalsByStatus(
             @PathVariable Goal.GoalStatus status,
+            @RequestParam(defaultValue = "false") boolean entity,
             Authentication authentication) {
         User user = (User) authentication.getPrincipal();
-        List<Goal> goals = goalService.getGoalsByUserAndStatus(user, status);
+        if (entity) {
+            return ResponseEntity.ok(goalService.getGoalsByUserAndStatus(user, status));
+        }
+        List<GoalViewDto> goals = goalService.getGoalViewsByUserAndStatus(user, status);
         return ResponseEntity.ok(goals);
     }
 
     @GetMapping("/type/{type}")
     @Operation(summary = "Listar por tipo", description = "Lista metas por tipo")
-    public ResponseEntity<List<Goal>> getGoalsByType(
+    public ResponseEntity<?> getGoalsByType(
             @PathVariable Goal.GoalType type,
+            @RequestParam(defaultValue = "false") boolean entity,
             Authentication authentication) {
         User user = (User) authentication.getPrincipal();
-        List<Goal> goals = goalService.getGoalsByUserAndType(user, type);
+        if (entity) {
+            return ResponseEntity.ok(goalService.getGoalsByUserAndType(user, type));
+        }
+        List<GoalViewDto> goals = goalService.getGoalViewsByUserAndType(user, type);
         return ResponseEntity.ok(goals);
     }
 
@@ -80,22 +101,21 @@ public class GoalController {
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Atualizar meta", description = "Atualiza uma meta existente")
+    @Operation(summary = "Atualizar meta", description = "Atualiza uma meta existente; exige a versão lida e mantém o progresso quando currentAmount é omitido")
     public ResponseEntity<?> updateGoal(@PathVariable Long id,
-                                       @Valid @RequestBody Goal goal,
+                                       @Valid @RequestBody GoalUpdateRequest request,
                                        Authentication authentication) {
         try {
             User user = (User) authentication.getPrincipal();
-            Optional<Goal> existingGoal = goalService.getGoalById(id, user);
-
-            if (existingGoal.isPresent()) {
-                goal.setId(id);
-                goal.setUser(user);
-                Goal updatedGoal = goalService.updateGoal(goal);
-                return ResponseEntity.ok(updatedGoal);
-            } else {
-                return ResponseEntity.notFound().build();
-            }
+            Goal updatedGoal = goalService.updateGoal(id, user, request);
+            return ResponseEntity.ok(updatedGoal);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse("A meta foi alterada por outra operação; recarregue e tente novamente"));
+        } catch (ConcurrentWriteException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
@@ -108,6 +128,11 @@ public class GoalController {
             User user = (User) authentication.getPrincipal();
             goalService.deleteGoal(id, user);
             return ResponseEntity.ok().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ErrorResponse("A meta foi alterada por outra operação; recarregue e tente novamente"));
+        } catch (ConcurrentWriteException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
@@ -115,9 +140,13 @@ public class GoalController {
 
     @GetMapping("/overdue")
     @Operation(summary = "Metas vencidas", description = "Lista metas vencidas do usuário")
-    public ResponseEntity<List<Goal>> getOverdueGoals(Authentication authentication) {
+    public ResponseEntity<?> getOverdueGoals(@RequestParam(defaultValue = "false") boolean entity,
+                                             Authentication authentication) {
         User user = (User) authentication.getPrincipal();
-        List<Goal> goals = goalService.getOverdueGoals(user);
+        if (entity) {
+            return ResponseEntity.ok(goalService.getOverdueGoals(user));
+        }
+        List<GoalViewDto> goals = goalService.getOverdueGoalViews(user);
         return ResponseEntity.ok(goals);
     }
 
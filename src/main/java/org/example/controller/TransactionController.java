@@ -3,16 +3,31 @@ package org.example.controller;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.example.dto.CursorPageDto;
 import org.example.dto.DashboardDto;
+import org.example.dto.ImportResultDto;
+import org.example.dto.TransactionBatchRequest;
+import org.example.dto.TransactionBatchResultDto;
 import org.example.dto.MonthlyReportDto;
+import org.example.dto.TransactionViewDto;
+import org.example.dto.YearlyComparisonDto;
 import org.example.entity.Transaction;
 import org.example.entity.User;
+import org.example.exception.ConcurrentWriteException;
 import org.example.service.ReportService;
+import org.example.service.TransactionBatchService;
+import org.example.service.TransactionExportService;
+import org.example.service.TransactionImportService;
 import org.example.service.TransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -30,6 +45,15 @@ public class TransactionController {
     @Autowired
     private ReportService reportService;
 
+    @Autowired
+    private TransactionImportService transactionImportService;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private TransactionBatchService transactionBatchService;
+
     @PostMapping
     @Operation(summary = "Criar transação", description = "Cria uma nova transação financeira")
     public ResponseEntity<?> createTransaction(@Valid @RequestBody Transaction transaction,
@@ -40,19 +64,91 @@ public class TransactionController {
 
             Transaction savedTransaction = transactionService.createTransaction(transaction);
             return ResponseEntity.ok(savedTransaction);
+        } catch (ConcurrentWriteException e) {
+            // Não é erro do cliente: o GlobalExceptionHandler responde 429 para que a operação seja repetida
+            throw e;
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Operações em lote", description = "Aplica criações, atualizações e remoções em uma única transação")
+    public ResponseEntity<?> applyBatch(@Valid @RequestBody TransactionBatchRequest request,
+                                        Authentication authentication) {
+        try {
+            User user = (User) authentication.getPrincipal();
+            TransactionBatchResultDto result = transactionBatchService.applyBatch(user, request.getOperations());
+            return result.isApplied() ? ResponseEntity.ok(result) : ResponseEntity.badRequest().body(result);
+        } catch (ConcurrentWriteException e) {
+            throw e;
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @Operation(summary = "Importar transações", description = "Importa um extrato CSV ou OFX em lotes; se um lote falhar ou a leitura for interrompida, responde com as linhas já gravadas e a linha onde retomar")
+    public ResponseEntity<?> importTransactions(@RequestParam("file") MultipartFile file,
+                                                @RequestParam(defaultValue = "CSV") TransactionImportService.ImportFormat format,
+                                                Authentication authentication) {
+        try {
+            User user = (User) authentication.getPrincipal();
+            ImportResultDto result = transactionImportService.importTransactions(user, file.getInputStream(), format);
+            if (result.isCompleted()) {
+                return ResponseEntity.ok(result);
+            }
+            // Importação parcial: o corpo informa quantas linhas foram gravadas e onde retomar
+            return ResponseEntity.status(result.isRetryable() ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.BAD_REQUEST)
+                    .body(result);
+        } catch (ConcurrentWriteException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
     }
 
     @GetMapping
-    @Operation(summary = "Listar transações", description = "Lista todas as transações do usuário")
-    public ResponseEntity<List<Transaction>> getTransactions(Authentication authentication) {
+    @Operation(summary = "Listar transações", description = "Lista todas as transações do usuário (entity=true retorna as entidades completas)")
+    public ResponseEntity<?> getTransactions(@RequestParam(defaultValue = "false") boolean entity,
+                                             Authentication authentication) {
         User user = (User) authentication.getPrincipal();
-        List<Transaction> transactions = transactionService.getTransactionsByUser(user);
+        if (entity) {
+            return ResponseEntity.ok(transactionService.getTransactionsByUser(user));
+        }
+        List<TransactionViewDto> transactions = transactionService.getTransactionViewsByUser(user);
         return ResponseEntity.ok(transactions);
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Listar transações paginadas", description = "Lista transações por cursor (data, id), da mais recente para a mais antiga")
+    public ResponseEntity<?> getTransactionPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(defaultValue = "false") boolean entity,
+            Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        if (entity) {
+            return ResponseEntity.ok(transactionService.getTransactionPage(user, cursor, size));
+        }
+        CursorPageDto<TransactionViewDto> page = transactionService.getTransactionViewPage(user, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exportar transações", description = "Exporta todo o histórico em CSV ou NDJSON via streaming")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "CSV") TransactionExportService.ExportFormat format,
+            Authentication authentication) {
+        User user = (User) authentication.getPrincipal();
+        StreamingResponseBody body = output -> transactionExportService.exportTransactions(user, format, output);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"transacoes." + format.getExtension() + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Buscar transação", description = "Busca uma transação específica por ID")
     public ResponseEntity<?> getTransaction(@PathVariable Long id, Authentication authentication) {
@@ -83,6 +179,8 @@ public class TransactionController {
             } else {
                 return ResponseEntity.notFound().build();
             }
+        } catch (ConcurrentWriteException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
@@ -95,6 +193,8 @@ public class TransactionController {
             User user = (User) authentication.getPrincipal();
             transactionService.deleteTransaction(id, user);
             return ResponseEntity.ok().build();
+        } catch (ConcurrentWriteException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(new ErrorResponse(e.getMessage()));
         }
@@ -102,16 +202,20 @@ public class TransactionController {
 
     @GetMapping("/period")
     @Operation(summary = "Transações por período", description = "Lista transações em um período específico")
-    public ResponseEntity<List<Transaction>> getTransactionsByPeriod(
+    public ResponseEntity<?> getTransactionsByPeriod(
             @RequestParam String startDate,
             @RequestParam String endDate,
+            @RequestParam(defaultValue = "false") boolean entity,
             Authentication authentication) {
 
         User user = (User) authentication.getPrincipal();
         LocalDateTime start = LocalDateTime.parse(startDate);
         LocalDateTime end = LocalDateTime.parse(endDate);
 
-        List<Transaction> transactions = transactionService.getTransactionsByUserAndDateRange(user, start, end);
+        if (entity) {
+            return ResponseEntity.ok(transactionService.getTransactionsByUserAndDateRange(user, start, end));
+        }
+        List<TransactionViewDto> transactions = transactionService.getTransactionViewsByUserAndDateRange(user, start, end);
         return ResponseEntity.ok(transactions);
     }
 
@@ -135,6 +239,17 @@ public class TransactionController {
         return ResponseEntity.ok(report);
     }
 
+    @GetMapping("/report/yearly")
+    @Operation(summary = "Comparativo anual", description = "Receitas, despesas e saldo mês a mês para um ou mais anos")
+    public ResponseEntity<List<YearlyComparisonDto>> getYearlyComparison(
+            @RequestParam List<Integer> years,
+            Authentication authentication) {
+
+        User user = (User) authentication.getPrincipal();
+        List<YearlyComparisonDto> comparison = reportService.getYearlyComparison(user, years);
+        return ResponseEntity.ok(comparison);
+    }
+
     public static class ErrorResponse {
         private String message;
 
@@ -0,0 +1,36 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.example.entity.Category;
+
+public class CategoryRefDto {
+    private final Long id;
+    private final String name;
+    private final Category.TransactionType type;
+    private final String color;
+    private final String icon;
+
+    @JsonCreator
+    public CategoryRefDto(@JsonProperty("id") Long id,
+                          @JsonProperty("name") String name,
+                          @JsonProperty("type") Category.TransactionType type,
+                          @JsonProperty("color") String color,
+                          @JsonProperty("icon") String icon) {
+        this.id = id;
+        this.name = name;
+        this.type = type;
+        this.color = color;
+        this.icon = icon;
+    }
+
+    public Long getId() { return id; }
+
+    public String getName() { return name; }
+
+    public Category.TransactionType getType() { return type; }
+
+    public String getColor() { return color; }
+
+    public String getIcon() { return icon; }
+}
@@ -0,0 +1,44 @@
+package org.example.dto;
+
+import org.example.entity.Category;
+
+import java.time.LocalDateTime;
+
+public class CategoryViewDto {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final Category.TransactionType type;
+    private final String color;
+    private final String icon;
+    private final Boolean active;
+    private final LocalDateTime createdAt;
+
+    public CategoryViewDto(Long id, String name, String description, Category.TransactionType type,
+                           String color, String icon, Boolean active, LocalDateTime createdAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.type = type;
+        this.color = color;
+        this.icon = icon;
+        this.active = active;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+
+    public String getName() { return name; }
+
+    public String getDescription() { return description; }
+
+    public Category.TransactionType getType() { return type; }
+
+    public String getColor() { return color; }
+
+    public String getIcon() { return icon; }
+
+    public Boolean getActive() { return active; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
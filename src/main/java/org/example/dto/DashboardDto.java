@@ -1,7 +1,5 @@
 package org.example.dto;
 
-import org.example.entity.Transaction;
-
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -11,7 +9,7 @@ public class DashboardDto {
     private BigDecimal balance;
     private BigDecimal monthlyIncome;
     private BigDecimal monthlyExpense;
-    private List<Transaction> recentTransactions;
+    private List<TransactionViewDto> recentTransactions;
     private int activeGoalsCount;
 
     // Constructor
@@ -50,7 +48,7 @@ public class DashboardDto {
             return this;
         }
 
-        public Builder recentTransactions(List<Transaction> recentTransactions) {
+        public Builder recentTransactions(List<TransactionViewDto> recentTransactions) {
             dto.recentTransactions = recentTransactions;
             return this;
         }
@@ -81,8 +79,8 @@ public class DashboardDto {
     public BigDecimal getMonthlyExpense() { return monthlyExpense; }
     public void setMonthlyExpense(BigDecimal monthlyExpense) { this.monthlyExpense = monthlyExpense; }
 
-    public List<Transaction> getRecentTransactions() { return recentTransactions; }
-    public void setRecentTransactions(List<Transaction> recentTransactions) { this.recentTransactions = recentTransactions; }
+    public List<TransactionViewDto> getRecentTransactions() { return recentTransactions; }
+    public void setRecentTransactions(List<TransactionViewDto> recentTransactions) { this.recentTransactions = recentTransactions; }
 
     public int getActiveGoalsCount() { return activeGoalsCount; }
     public void setActiveGoalsCount(int activeGoalsCount) { this.activeGoalsCount = activeGoalsCount; }
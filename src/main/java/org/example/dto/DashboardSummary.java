@@ -0,0 +1,15 @@
+package org.example.dto;
+
+import java.math.BigDecimal;
+
+public interface DashboardSummary {
+    BigDecimal getTotalIncome();
+
+    BigDecimal getTotalExpense();
+
+    BigDecimal getMonthlyIncome();
+
+    BigDecimal getMonthlyExpense();
+
+    Long getActiveGoals();
+}
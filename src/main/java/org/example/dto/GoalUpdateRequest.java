@@ -0,0 +1,89 @@
+package org.example.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.example.entity.Goal;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Edição de uma meta. A versão lida pelo cliente é obrigatória; campos
+ * opcionais ausentes mantêm o valor atual, em especial o progresso, que é
+ * acumulado pelas transações.
+ */
+public class GoalUpdateRequest {
+    @NotNull(message = "Versão é obrigatória; use o valor recebido na leitura da meta")
+    private Long version;
+
+    @NotBlank(message = "Nome é obrigatório")
+    @Size(min = 2, max = 100, message = "Nome deve ter entre 2 e 100 caracteres")
+    private String name;
+
+    @Size(max = 255, message = "Descrição deve ter no máximo 255 caracteres")
+    private String description;
+
+    @NotNull(message = "Valor alvo é obrigatório")
+    @DecimalMin(value = "0.01", message = "Valor alvo deve ser maior que zero")
+    private BigDecimal targetAmount;
+
+    @DecimalMin(value = "0.00", message = "Valor atual não pode ser negativo")
+    private BigDecimal currentAmount;
+
+    @NotNull(message = "Tipo é obrigatório")
+    private Goal.GoalType type;
+
+    private Goal.GoalStatus status;
+
+    @NotNull(message = "Data de início é obrigatória")
+    private LocalDateTime startDate;
+
+    @NotNull(message = "Data alvo é obrigatória")
+    private LocalDateTime targetDate;
+
+    private Boolean emailAlerts;
+
+    // Apenas o id é usado; a categoria precisa pertencer ao usuário
+    private CategoryRefDto category;
+
+    public GoalUpdateRequest() {}
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public BigDecimal getTargetAmount() { return targetAmount; }
+    public void setTargetAmount(BigDecimal targetAmount) { this.targetAmount = targetAmount; }
+
+    public BigDecimal getCurrentAmount() { return currentAmount; }
+    public void setCurrentAmount(BigDecimal currentAmount) { this.currentAmount = currentAmount; }
+
+    public Goal.GoalType getType() { return type; }
+    public void setType(Goal.GoalType type) { this.type = type; }
+
+    public Goal.GoalStatus getStatus() { return status; }
+    public void setStatus(Goal.GoalStatus status) { this.status = status; }
+
+    public LocalDateTime getStartDate() { return startDate; }
+    public void setStartDate(LocalDateTime startDate) { this.startDate = startDate; }
+
+    public LocalDateTime getTargetDate() { return targetDate; }
+    public void setTargetDate(LocalDateTime targetDate) { this.targetDate = targetDate; }
+
+    public Boolean getEmailAlerts() { return emailAlerts; }
+    public void setEmailAlerts(Boolean emailAlerts) { this.emailAlerts = emailAlerts; }
+
+    public CategoryRefDto getCategory() { return category; }
+    public void setCategory(CategoryRefDto category) { this.category = category; }
+
+    public Long getCategoryId() {
+        return category != null ? category.getId() : null;
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.dto;
+
+import org.example.entity.Category;
+import org.example.entity.Goal;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Visão de leitura de uma meta, com os mesmos campos calculados expostos
+ * pela entidade (progresso, valor restante e atraso).
+ */
+public class GoalViewDto {
+    private final Long id;
+    private final String name;
+    private final String description;
+    private final BigDecimal targetAmount;
+    private final BigDecimal currentAmount;
+    private final Goal.GoalType type;
+    private final Goal.GoalStatus status;
+    private final LocalDateTime startDate;
+    private final LocalDateTime targetDate;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime completedAt;
+    private final Boolean emailAlerts;
+    private final Long version;
+    private final CategoryRefDto category;
+
+    public GoalViewDto(Long id, String name, String description, BigDecimal targetAmount, BigDecimal currentAmount,
+                       Goal.GoalType type, Goal.GoalStatus status, LocalDateTime startDate, LocalDateTime targetDate,
+                       LocalDateTime createdAt, LocalDateTime completedAt, Boolean emailAlerts, Long version,
+                       Long categoryId, String categoryName, Category.TransactionType categoryType,
+                       String categoryColor, String categoryIcon) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.targetAmount = targetAmount;
+        this.currentAmount = currentAmount;
+        this.type = type;
+        this.status = status;
+        this.startDate = startDate;
+        this.targetDate = targetDate;
+        this.createdAt = createdAt;
+        this.completedAt = completedAt;
+        this.emailAlerts = emailAlerts;
+        this.version = version;
+        this.category = categoryId != null
+                ? new CategoryRefDto(categoryId, categoryName, categoryType, categoryColor, categoryIcon)
+                : null;
+    }
+
+    public double getProgressPercentage() {
+        if (targetAmount.compareTo(BigDecimal.ZERO) == 0) return 0;
+        return currentAmount.divide(targetAmount, 4, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100)).doubleValue();
+    }
+
+    public BigDecimal getRemainingAmount() {
+        return targetAmount.subtract(currentAmount);
+    }
+
+    public boolean isOverdue() {
+        return LocalDateTime.now().isAfter(targetDate) && status == Goal.GoalStatus.ACTIVE;
+    }
+
+    public Long getId() { return id; }
+
+    public String getName() { return name; }
+
+    public String getDescription() { return description; }
+
+    public BigDecimal getTargetAmount() { return targetAmount; }
+
+    public BigDecimal getCurrentAmount() { return currentAmount; }
+
+    public Goal.GoalType getType() { return type; }
+
+    public Goal.GoalStatus getStatus() { return status; }
+
+    public Long getVersion() { return version; }
+
+    public LocalDateTime getStartDate() { return startDate; }
+
+    public LocalDateTime getTargetDate() { return targetDate; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+
+    public Boolean getEmailAlerts() { return emailAlerts; }
+
+    public CategoryRefDto getCategory() { return category; }
+}
@@ -0,0 +1,138 @@
+package org.example.dto;
+
+import java.util.List;
+
+public class ImportResultDto {
+    private String format;
+    private long totalRows;
+    private long importedRows;
+    private long skippedRows;
+    private int batches;
+    private int categoriesCreated;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private List<String> errors;
+    private boolean completed;
+    private Long failedLine;
+    private String failureReason;
+    private boolean retryable;
+
+    public ImportResultDto() {}
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private ImportResultDto dto = new ImportResultDto();
+
+        public Builder format(String format) {
+            dto.format = format;
+            return this;
+        }
+
+        public Builder totalRows(long totalRows) {
+            dto.totalRows = totalRows;
+            return this;
+        }
+
+        public Builder importedRows(long importedRows) {
+            dto.importedRows = importedRows;
+            return this;
+        }
+
+        public Builder skippedRows(long skippedRows) {
+            dto.skippedRows = skippedRows;
+            return this;
+        }
+
+        public Builder batches(int batches) {
+            dto.batches = batches;
+            return this;
+        }
+
+        public Builder categoriesCreated(int categoriesCreated) {
+            dto.categoriesCreated = categoriesCreated;
+            return this;
+        }
+
+        public Builder elapsedMillis(long elapsedMillis) {
+            dto.elapsedMillis = elapsedMillis;
+            return this;
+        }
+
+        public Builder rowsPerSecond(double rowsPerSecond) {
+            dto.rowsPerSecond = rowsPerSecond;
+            return this;
+        }
+
+        public Builder errors(List<String> errors) {
+            dto.errors = errors;
+            return this;
+        }
+
+        public Builder completed(boolean completed) {
+            dto.completed = completed;
+            return this;
+        }
+
+        public Builder failedLine(Long failedLine) {
+            dto.failedLine = failedLine;
+            return this;
+        }
+
+        public Builder failureReason(String failureReason) {
+            dto.failureReason = failureReason;
+            return this;
+        }
+
+        public Builder retryable(boolean retryable) {
+            dto.retryable = retryable;
+            return this;
+        }
+
+        public ImportResultDto build() {
+            return dto;
+        }
+    }
+
+    // Getters and Setters
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+
+    public long getTotalRows() { return totalRows; }
+    public void setTotalRows(long totalRows) { this.totalRows = totalRows; }
+
+    public long getImportedRows() { return importedRows; }
+    public void setImportedRows(long importedRows) { this.importedRows = importedRows; }
+
+    public long getSkippedRows() { return skippedRows; }
+    public void setSkippedRows(long skippedRows) { this.skippedRows = skippedRows; }
+
+    public int getBatches() { return batches; }
+    public void setBatches(int batches) { this.batches = batches; }
+
+    public int getCategoriesCreated() { return categoriesCreated; }
+    public void setCategoriesCreated(int categoriesCreated) { this.categoriesCreated = categoriesCreated; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public double getRowsPerSecond() { return rowsPerSecond; }
+    public void setRowsPerSecond(double rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+
+    public List<String> getErrors() { return errors; }
+    public void setErrors(List<String> errors) { this.errors = errors; }
+
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+
+    public Long getFailedLine() { return failedLine; }
+    public void setFailedLine(Long failedLine) { this.failedLine = failedLine; }
+
+    public String getFailureReason() { return failureReason; }
+    public void setFailureReason(String failureReason) { this.failureReason = failureReason; }
+
+    public boolean isRetryable() { return retryable; }
+    public void setRetryable(boolean retryable) { this.retryable = retryable; }
+}
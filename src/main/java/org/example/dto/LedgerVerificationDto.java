@@ -0,0 +1,56 @@
+package org.example.dto;
+
+import java.math.BigDecimal;
+
+public class LedgerVerificationDto {
+    private Long userId;
+    private BigDecimal ledgerIncome;
+    private BigDecimal actualIncome;
+    private BigDecimal ledgerExpense;
+    private BigDecimal actualExpense;
+    private long ledgerCount;
+    private long actualCount;
+    private boolean consistent;
+
+    public LedgerVerificationDto() {}
+
+    public LedgerVerificationDto(Long userId, BigDecimal ledgerIncome, BigDecimal actualIncome,
+                                 BigDecimal ledgerExpense, BigDecimal actualExpense,
+                                 long ledgerCount, long actualCount) {
+        this.userId = userId;
+        this.ledgerIncome = ledgerIncome;
+        this.actualIncome = actualIncome;
+        this.ledgerExpense = ledgerExpense;
+        this.actualExpense = actualExpense;
+        this.ledgerCount = ledgerCount;
+        this.actualCount = actualCount;
+        this.consistent = ledgerIncome.compareTo(actualIncome) == 0
+                && ledgerExpense.compareTo(actualExpense) == 0
+                && ledgerCount == actualCount;
+    }
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public BigDecimal getLedgerIncome() { return ledgerIncome; }
+    public void setLedgerIncome(BigDecimal ledgerIncome) { this.ledgerIncome = ledgerIncome; }
+
+    public BigDecimal getActualIncome() { return actualIncome; }
+    public void setActualIncome(BigDecimal actualIncome) { this.actualIncome = actualIncome; }
+
+    public BigDecimal getLedgerExpense() { return ledgerExpense; }
+    public void setLedgerExpense(BigDecimal ledgerExpense) { this.ledgerExpense = ledgerExpense; }
+
+    public BigDecimal getActualExpense() { return actualExpense; }
+    public void setActualExpense(BigDecimal actualExpense) { this.actualExpense = actualExpense; }
+
+    public long getLedgerCount() { return ledgerCount; }
+    public void setLedgerCount(long ledgerCount) { this.ledgerCount = ledgerCount; }
+
+    public long getActualCount() { return actualCount; }
+    public void setActualCount(long actualCount) { this.actualCount = actualCount; }
+
+    public boolean isConsistent() { return consistent; }
+    public void setConsistent(boolean consistent) { this.consistent = consistent; }
+}
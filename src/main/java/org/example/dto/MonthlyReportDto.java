@@ -1,7 +1,5 @@
 package org.example.dto;
 
-import org.example.entity.Transaction;
-
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -11,7 +9,7 @@ public class MonthlyReportDto {
     private BigDecimal totalIncome;
     private BigDecimal totalExpense;
     private BigDecimal balance;
-    private List<Transaction> transactions;
+    private List<TransactionViewDto> transactions;
     private List<CategorySummaryDto> incomeByCategory;
     private List<CategorySummaryDto> expenseByCategory;
 
@@ -49,7 +47,7 @@ public class MonthlyReportDto {
             return this;
         }
 
-        public Builder transactions(List<Transaction> transactions) {
+        public Builder transactions(List<TransactionViewDto> transactions) {
             dto.transactions = transactions;
             return this;
         }
@@ -85,8 +83,8 @@ public class MonthlyReportDto {
     public BigDecimal getBalance() { return balance; }
     public void setBalance(BigDecimal balance) { this.balance = balance; }
 
-    public List<Transaction> getTransactions() { return transactions; }
-    public void setTransactions(List<Transaction> transactions) { this.transactions = transactions; }
+    public List<TransactionViewDto> getTransactions() { return transactions; }
+    public void setTransactions(List<TransactionViewDto> transactions) { this.transactions = transactions; }
 
     public List<CategorySummaryDto> getIncomeByCategory() { return incomeByCategory; }
     public void setIncomeByCategory(List<CategorySummaryDto> incomeByCategory) { this.incomeByCategory = incomeByCategory; }
@@ -0,0 +1,57 @@
+package org.example.dto;
+
+import java.math.BigDecimal;
+
+public class MonthlyTotalsDto {
+    private int month;
+    private BigDecimal income;
+    private BigDecimal expense;
+    private BigDecimal balance;
+
+    public MonthlyTotalsDto() {}
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private MonthlyTotalsDto dto = new MonthlyTotalsDto();
+
+        public Builder month(int month) {
+            dto.month = month;
+            return this;
+        }
+
+        public Builder income(BigDecimal income) {
+            dto.income = income;
+            return this;
+        }
+
+        public Builder expense(BigDecimal expense) {
+            dto.expense = expense;
+            return this;
+        }
+
+        public Builder balance(BigDecimal balance) {
+            dto.balance = balance;
+            return this;
+        }
+
+        public MonthlyTotalsDto build() {
+            return dto;
+        }
+    }
+
+    // Getters and Setters
+    public int getMonth() { return month; }
+    public void setMonth(int month) { this.month = month; }
+
+    public BigDecimal getIncome() { return income; }
+    public void setIncome(BigDecimal income) { this.income = income; }
+
+    public BigDecimal getExpense() { return expense; }
+    public void setExpense(BigDecimal expense) { this.expense = expense; }
+
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+}
@@ -0,0 +1,39 @@
+package org.example.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import org.example.entity.Transaction;
+
+import java.util.List;
+
+public class TransactionBatchRequest {
+    @NotEmpty(message = "Informe ao menos uma operação")
+    @Size(max = 1000, message = "Máximo de 1000 operações por lote")
+    private List<Item> operations;
+
+    public TransactionBatchRequest() {}
+
+    public List<Item> getOperations() { return operations; }
+    public void setOperations(List<Item> operations) { this.operations = operations; }
+
+    public static class Item {
+        private OperationType operation;
+        private Long id;
+        private Transaction transaction;
+
+        public Item() {}
+
+        public OperationType getOperation() { return operation; }
+        public void setOperation(OperationType operation) { this.operation = operation; }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public Transaction getTransaction() { return transaction; }
+        public void setTransaction(Transaction transaction) { this.transaction = transaction; }
+    }
+
+    public enum OperationType {
+        CREATE, UPDATE, DELETE
+    }
+}
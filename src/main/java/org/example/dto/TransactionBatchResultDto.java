@@ -0,0 +1,75 @@
+package org.example.dto;
+
+import java.util.List;
+
+public class TransactionBatchResultDto {
+    private boolean applied;
+    private int created;
+    private int updated;
+    private int deleted;
+    private List<ItemResult> results;
+
+    public TransactionBatchResultDto() {}
+
+    public TransactionBatchResultDto(boolean applied, int created, int updated, int deleted, List<ItemResult> results) {
+        this.applied = applied;
+        this.created = created;
+        this.updated = updated;
+        this.deleted = deleted;
+        this.results = results;
+    }
+
+    // Getters and Setters
+    public boolean isApplied() { return applied; }
+    public void setApplied(boolean applied) { this.applied = applied; }
+
+    public int getCreated() { return created; }
+    public void setCreated(int created) { this.created = created; }
+
+    public int getUpdated() { return updated; }
+    public void setUpdated(int updated) { this.updated = updated; }
+
+    public int getDeleted() { return deleted; }
+    public void setDeleted(int deleted) { this.deleted = deleted; }
+
+    public List<ItemResult> getResults() { return results; }
+    public void setResults(List<ItemResult> results) { this.results = results; }
+
+    public static class ItemResult {
+        private int index;
+        private TransactionBatchRequest.OperationType operation;
+        private Long id;
+        private ItemStatus status;
+        private String message;
+
+        public ItemResult() {}
+
+        public ItemResult(int index, TransactionBatchRequest.OperationType operation, Long id,
+                          ItemStatus status, String message) {
+            this.index = index;
+            this.operation = operation;
+            this.id = id;
+            this.status = status;
+            this.message = message;
+        }
+
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+
+        public TransactionBatchRequest.OperationType getOperation() { return operation; }
+        public void setOperation(TransactionBatchRequest.OperationType operation) { this.operation = operation; }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public ItemStatus getStatus() { return status; }
+        public void setStatus(ItemStatus status) { this.status = status; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+
+    public enum ItemStatus {
+        OK, INVALID, NOT_FOUND, NOT_APPLIED
+    }
+}
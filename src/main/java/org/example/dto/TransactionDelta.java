@@ -0,0 +1,52 @@
+package org.example.dto;
+
+import org.example.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Efeito de uma escrita de transação sobre os agregados do usuário.
+ * Criações geram um delta positivo; remoções e o estado anterior de uma
+ * atualização geram um delta negado.
+ */
+public class TransactionDelta {
+    private final Long categoryId;
+    private final Transaction.TransactionType type;
+    private final LocalDateTime transactionDate;
+    private final BigDecimal amount;
+    private final int count;
+
+    public TransactionDelta(Long categoryId, Transaction.TransactionType type,
+                            LocalDateTime transactionDate, BigDecimal amount, int count) {
+        this.categoryId = categoryId;
+        this.type = type;
+        this.transactionDate = transactionDate;
+        this.amount = amount;
+        this.count = count;
+    }
+
+    public static TransactionDelta of(Transaction transaction) {
+        return new TransactionDelta(categoryIdOf(transaction), transaction.getType(),
+                transaction.getTransactionDate(), transaction.getAmount(), 1);
+    }
+
+    public static TransactionDelta reversalOf(Transaction transaction) {
+        return new TransactionDelta(categoryIdOf(transaction), transaction.getType(),
+                transaction.getTransactionDate(), transaction.getAmount().negate(), -1);
+    }
+
+    private static Long categoryIdOf(Transaction transaction) {
+        return transaction.getCategory() != null ? transaction.getCategory().getId() : null;
+    }
+
+    public Long getCategoryId() { return categoryId; }
+
+    public Transaction.TransactionType getType() { return type; }
+
+    public LocalDateTime getTransactionDate() { return transactionDate; }
+
+    public BigDecimal getAmount() { return amount; }
+
+    public int getCount() { return count; }
+}
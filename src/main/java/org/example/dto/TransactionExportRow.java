@@ -0,0 +1,41 @@
+package org.example.dto;
+
+import org.example.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class TransactionExportRow {
+    private final Long id;
+    private final LocalDateTime transactionDate;
+    private final String description;
+    private final BigDecimal amount;
+    private final Transaction.TransactionType type;
+    private final String categoryName;
+    private final String notes;
+
+    public TransactionExportRow(Long id, LocalDateTime transactionDate, String description, BigDecimal amount,
+                                Transaction.TransactionType type, String categoryName, String notes) {
+        this.id = id;
+        this.transactionDate = transactionDate;
+        this.description = description;
+        this.amount = amount;
+        this.type = type;
+        this.categoryName = categoryName;
+        this.notes = notes;
+    }
+
+    public Long getId() { return id; }
+
+    public LocalDateTime getTransactionDate() { return transactionDate; }
+
+    public String getDescription() { return description; }
+
+    public BigDecimal getAmount() { return amount; }
+
+    public Transaction.TransactionType getType() { return type; }
+
+    public String getCategoryName() { return categoryName; }
+
+    public String getNotes() { return notes; }
+}
@@ -0,0 +1,74 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.example.entity.Category;
+import org.example.entity.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Visão de leitura de uma transação, carregada por projeção com a
+ * categoria já resolvida, sem passar pela entidade.
+ */
+public class TransactionViewDto {
+    private final Long id;
+    private final String description;
+    private final BigDecimal amount;
+    private final Transaction.TransactionType type;
+    private final LocalDateTime transactionDate;
+    private final String notes;
+    private final LocalDateTime createdAt;
+    private final CategoryRefDto category;
+
+    public TransactionViewDto(Long id, String description, BigDecimal amount, Transaction.TransactionType type,
+                              LocalDateTime transactionDate, String notes, LocalDateTime createdAt,
+                              Long categoryId, String categoryName, Category.TransactionType categoryType,
+                              String categoryColor, String categoryIcon) {
+        this.id = id;
+        this.description = description;
+        this.amount = amount;
+        this.type = type;
+        this.transactionDate = transactionDate;
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.category = new CategoryRefDto(categoryId, categoryName, categoryType, categoryColor, categoryIcon);
+    }
+
+    // Leitura dos snapshots de relatório mensal
+    @JsonCreator
+    public TransactionViewDto(@JsonProperty("id") Long id,
+                              @JsonProperty("description") String description,
+                              @JsonProperty("amount") BigDecimal amount,
+                              @JsonProperty("type") Transaction.TransactionType type,
+                              @JsonProperty("transactionDate") LocalDateTime transactionDate,
+                              @JsonProperty("notes") String notes,
+                              @JsonProperty("createdAt") LocalDateTime createdAt,
+                              @JsonProperty("category") CategoryRefDto category) {
+        this.id = id;
+        this.description = description;
+        this.amount = amount;
+        this.type = type;
+        this.transactionDate = transactionDate;
+        this.notes = notes;
+        this.createdAt = createdAt;
+        this.category = category;
+    }
+
+    public Long getId() { return id; }
+
+    public String getDescription() { return description; }
+
+    public BigDecimal getAmount() { return amount; }
+
+    public Transaction.TransactionType getType() { return type; }
+
+    public LocalDateTime getTransactionDate() { return transactionDate; }
+
+    public String getNotes() { return notes; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public CategoryRefDto getCategory() { return category; }
+}
@@ -0,0 +1,67 @@
+package org.example.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class YearlyComparisonDto {
+    private int year;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private BigDecimal balance;
+    private List<MonthlyTotalsDto> months;
+
+    public YearlyComparisonDto() {}
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private YearlyComparisonDto dto = new YearlyComparisonDto();
+
+        public Builder year(int year) {
+            dto.year = year;
+            return this;
+        }
+
+        public Builder totalIncome(BigDecimal totalIncome) {
+            dto.totalIncome = totalIncome;
+            return this;
+        }
+
+        public Builder totalExpense(BigDecimal totalExpense) {
+            dto.totalExpense = totalExpense;
+            return this;
+        }
+
+        public Builder balance(BigDecimal balance) {
+            dto.balance = balance;
+            return this;
+        }
+
+        public Builder months(List<MonthlyTotalsDto> months) {
+            dto.months = months;
+            return this;
+        }
+
+        public YearlyComparisonDto build() {
+            return dto;
+        }
+    }
+
+    // Getters and Setters
+    public int getYear() { return year; }
+    public void setYear(int year) { this.year = year; }
+
+    public BigDecimal getTotalIncome() { return totalIncome; }
+    public void setTotalIncome(BigDecimal totalIncome) { this.totalIncome = totalIncome; }
+
+    public BigDecimal getTotalExpense() { return totalExpense; }
+    public void setTotalExpense(BigDecimal totalExpense) { this.totalExpense = totalExpense; }
+
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+
+    public List<MonthlyTotalsDto> getMonths() { return months; }
+    public void setMonths(List<MonthlyTotalsDto> months) { this.months = months; }
+}
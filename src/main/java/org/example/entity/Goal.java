@@ -1,5 +1,6 @@
 package org.example.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
@@ -7,6 +8,7 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
@@ -52,9 +54,16 @@ public class Goal {
 
     private LocalDateTime completedAt;
 
+    // Limite de Gastos: primeiro dia do mês a que currentAmount se refere
+    private LocalDate periodStart;
+
     @Column(nullable = false)
     private Boolean emailAlerts = true;
 
+    @Version
+    private Long version;
+
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -120,12 +129,18 @@ public class Goal {
     public LocalDateTime getTargetDate() { return targetDate; }
     public void setTargetDate(LocalDateTime targetDate) { this.targetDate = targetDate; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
     public LocalDateTime getCompletedAt() { return completedAt; }
     public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
 
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+
     public Boolean getEmailAlerts() { return emailAlerts; }
     public void setEmailAlerts(Boolean emailAlerts) { this.emailAlerts = emailAlerts; }
 
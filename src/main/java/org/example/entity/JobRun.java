@@ -0,0 +1,107 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "job_runs")
+public class JobRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String jobName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.RUNNING;
+
+    @Column(nullable = false)
+    private Long checkpointId = 0L;
+
+    @Column(nullable = false)
+    private Long itemsProcessed = 0L;
+
+    @Column(nullable = false)
+    private Long itemsAffected = 0L;
+
+    @Column(nullable = false)
+    private Long chunks = 0L;
+
+    @Column(nullable = false)
+    private Integer attempts = 1;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt = LocalDateTime.now();
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    private LocalDateTime finishedAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    // Constructors
+    public JobRun() {}
+
+    public JobRun(String jobName) {
+        this.jobName = jobName;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public Long getCheckpointId() { return checkpointId; }
+    public void setCheckpointId(Long checkpointId) { this.checkpointId = checkpointId; }
+
+    public Long getItemsProcessed() { return itemsProcessed; }
+    public void setItemsProcessed(Long itemsProcessed) { this.itemsProcessed = itemsProcessed; }
+
+    public Long getItemsAffected() { return itemsAffected; }
+    public void setItemsAffected(Long itemsAffected) { this.itemsAffected = itemsAffected; }
+
+    public Long getChunks() { return chunks; }
+    public void setChunks(Long chunks) { this.chunks = chunks; }
+
+    public Integer getAttempts() { return attempts; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    // Business methods
+    public long getDurationMillis() {
+        LocalDateTime end = finishedAt != null ? finishedAt : updatedAt;
+        return Duration.between(startedAt, end).toMillis();
+    }
+
+    public double getItemsPerSecond() {
+        long duration = getDurationMillis();
+        return duration > 0 ? itemsProcessed * 1000.0 / duration : 0;
+    }
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED, ABANDONED
+    }
+}
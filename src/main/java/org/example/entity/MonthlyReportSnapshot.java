@@ -0,0 +1,61 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "monthly_report_snapshots",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "period"}))
+public class MonthlyReportSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // Ano e mês no formato yyyyMM, ex.: 202401
+    @Column(nullable = false)
+    private Integer period;
+
+    // MonthlyReportDto em JSON compactado com gzip
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(nullable = false)
+    private Boolean stale = false;
+
+    @Column(nullable = false)
+    private LocalDateTime generatedAt = LocalDateTime.now();
+
+    // Incrementada a cada escrita retroativa no mês
+    @Column(nullable = false)
+    private Long version = 0L;
+
+    // Constructors
+    public MonthlyReportSnapshot() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Integer getPeriod() { return period; }
+    public void setPeriod(Integer period) { this.period = period; }
+
+    public byte[] getPayload() { return payload; }
+    public void setPayload(byte[] payload) { this.payload = payload; }
+
+    public Boolean getStale() { return stale; }
+    public void setStale(Boolean stale) { this.stale = stale; }
+
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
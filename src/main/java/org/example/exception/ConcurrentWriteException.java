@@ -0,0 +1,7 @@
+package org.example.exception;
+
+public class ConcurrentWriteException extends BusinessException {
+    public ConcurrentWriteException(String message) {
+        super(message);
+    }
+}
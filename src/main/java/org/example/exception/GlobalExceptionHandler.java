@@ -63,6 +63,19 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(ConcurrentWriteException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrentWrite(ConcurrentWriteException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            "Operação concorrente",
+            ex.getMessage(),
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            LocalDateTime.now(),
+            null
+        );
+
+        return new ResponseEntity<>(errorResponse, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException ex) {
         ErrorResponse errorResponse = new ErrorResponse(
@@ -1,8 +1,11 @@
 package org.example.repository;
 
+import org.example.dto.CategoryViewDto;
 import org.example.entity.Category;
 import org.example.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,8 +13,18 @@ import java.util.Optional;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    List<Category> findByUser(User user);
     List<Category> findByUserAndActiveTrue(User user);
     List<Category> findByUserAndType(User user, Category.TransactionType type);
     Optional<Category> findByIdAndUser(Long id, User user);
     Boolean existsByNameAndUser(String name, User user);
+
+    String CATEGORY_VIEW = "SELECT new org.example.dto.CategoryViewDto(c.id, c.name, c.description, c.type, " +
+            "c.color, c.icon, c.active, c.createdAt) FROM Category c ";
+
+    @Query(CATEGORY_VIEW + "WHERE c.user = :user AND c.active = true")
+    List<CategoryViewDto> findActiveViewsByUser(@Param("user") User user);
+
+    @Query(CATEGORY_VIEW + "WHERE c.user = :user AND c.type = :type")
+    List<CategoryViewDto> findViewsByUserAndType(@Param("user") User user, @Param("type") Category.TransactionType type);
 }
@@ -0,0 +1,34 @@
+package org.example.repository;
+
+import org.example.entity.EmailOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    // SKIP LOCKED permite que várias instâncias retirem lotes diferentes ao mesmo tempo
+    @Query(value = "SELECT * FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutboxMessage> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Query("SELECT m.status, COUNT(m) FROM EmailOutboxMessage m GROUP BY m.status")
+    List<Object[]> countByStatus();
+
+    @Modifying
+    @Query("UPDATE EmailOutboxMessage m SET m.status = org.example.entity.EmailOutboxMessage.Status.PENDING, " +
+            "m.attempts = 0, m.nextAttemptAt = :now, m.lastError = NULL " +
+            "WHERE m.status = org.example.entity.EmailOutboxMessage.Status.DEAD")
+    int requeueDead(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutboxMessage m WHERE m.status = org.example.entity.EmailOutboxMessage.Status.SENT " +
+            "AND m.sentAt < :before")
+    int deleteSentBefore(@Param("before") LocalDateTime before);
+}
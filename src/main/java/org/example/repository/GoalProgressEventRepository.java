@@ -0,0 +1,22 @@
+package org.example.repository;
+
+import org.example.entity.GoalProgressEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GoalProgressEventRepository extends JpaRepository<GoalProgressEvent, Long> {
+
+    // Reivindica os eventos até o fim da transação: a varredura roda em todas as instâncias e o lock
+    // por usuário só vale dentro de um processo. SKIP LOCKED impede que dois nós apliquem o mesmo evento
+    @Query(value = "SELECT * FROM goal_progress_events WHERE user_id = :userId " +
+            "ORDER BY id FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<GoalProgressEvent> lockPendingByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT DISTINCT e.userId FROM GoalProgressEvent e")
+    List<Long> findPendingUserIds();
+}
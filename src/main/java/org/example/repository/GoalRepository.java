@@ -1,30 +1,72 @@
 package org.example.repository;
 
+import org.example.dto.GoalViewDto;
 import org.example.entity.Goal;
 import org.example.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface GoalRepository extends JpaRepository<Goal, Long> {
 
+    String GOAL_VIEW = "SELECT new org.example.dto.GoalViewDto(g.id, g.name, g.description, g.targetAmount, " +
+            "g.currentAmount, g.type, g.status, g.startDate, g.targetDate, g.createdAt, g.completedAt, g.emailAlerts, g.version, " +
+            "c.id, c.name, c.type, c.color, c.icon) " +
+            "FROM Goal g LEFT JOIN g.category c ";
+
+    @EntityGraph(attributePaths = "category")
     List<Goal> findByUserOrderByCreatedAtDesc(User user);
 
+    @EntityGraph(attributePaths = "category")
     List<Goal> findByUserAndStatus(User user, Goal.GoalStatus status);
 
+    @EntityGraph(attributePaths = "category")
     List<Goal> findByUserAndType(User user, Goal.GoalType type);
 
+    @EntityGraph(attributePaths = "category")
     Optional<Goal> findByIdAndUser(Long id, User user);
 
+    @EntityGraph(attributePaths = "category")
     @Query("SELECT g FROM Goal g WHERE g.user = :user AND g.status = 'ACTIVE' AND g.targetDate < :currentDate")
     List<Goal> findOverdueGoals(@Param("user") User user, @Param("currentDate") LocalDateTime currentDate);
 
-    @Query("SELECT g FROM Goal g WHERE g.user = :user AND g.emailAlerts = true AND g.status = 'ACTIVE'")
-    List<Goal> findGoalsWithEmailAlerts(@Param("user") User user);
+    // Chaves do índice de metas: id, tipo e categoria (nula para qualquer categoria)
+    @Query("SELECT g.id, g.type, c.id FROM Goal g LEFT JOIN g.category c " +
+           "WHERE g.user.id = :userId AND g.status = 'ACTIVE'")
+    List<Object[]> findActiveGoalKeysByUserId(@Param("userId") Long userId);
+
+    // Varredura de todos os usuários pelos jobs agendados, em blocos por id
+    @Query("SELECT g.id FROM Goal g WHERE g.id > :afterId AND g.emailAlerts = true AND g.status = 'ACTIVE' " +
+           "ORDER BY g.id")
+    List<Long> findAlertGoalIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT g.id FROM Goal g WHERE g.id > :afterId AND g.emailAlerts = true AND g.status = 'ACTIVE' " +
+           "AND g.targetDate < :currentDate ORDER BY g.id")
+    List<Long> findOverdueAlertGoalIdsAfter(@Param("afterId") Long afterId,
+                                            @Param("currentDate") LocalDateTime currentDate,
+                                            Pageable pageable);
+
+    @EntityGraph(attributePaths = {"user", "category"})
+    List<Goal> findByIdIn(Collection<Long> ids);
+
+    @Query(GOAL_VIEW + "WHERE g.user = :user ORDER BY g.createdAt DESC")
+    List<GoalViewDto> findViewsByUser(@Param("user") User user);
+
+    @Query(GOAL_VIEW + "WHERE g.user = :user AND g.status = :status")
+    List<GoalViewDto> findViewsByUserAndStatus(@Param("user") User user, @Param("status") Goal.GoalStatus status);
+
+    @Query(GOAL_VIEW + "WHERE g.user = :user AND g.type = :type")
+    List<GoalViewDto> findViewsByUserAndType(@Param("user") User user, @Param("type") Goal.GoalType type);
+
+    @Query(GOAL_VIEW + "WHERE g.user = :user AND g.status = 'ACTIVE' AND g.targetDate < :currentDate")
+    List<GoalViewDto> findOverdueViews(@Param("user") User user, @Param("currentDate") LocalDateTime currentDate);
 }
@@ -0,0 +1,23 @@
+package org.example.repository;
+
+import jakarta.persistence.LockModeType;
+import org.example.entity.JobRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    // Bloqueia a última execução para que duas instâncias não retomem a mesma execução
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<JobRun> findFirstByJobNameOrderByIdDesc(String jobName);
+
+    // Leitura sem lock para a varredura de retomada; a decisão final é tomada com o lock acima
+    Optional<JobRun> findTopByJobNameOrderByIdDesc(String jobName);
+
+    List<JobRun> findTop20ByOrderByIdDesc();
+}
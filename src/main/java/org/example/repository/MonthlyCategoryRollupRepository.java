@@ -0,0 +1,57 @@
+package org.example.repository;
+
+import org.example.entity.MonthlyCategoryRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface MonthlyCategoryRollupRepository extends JpaRepository<MonthlyCategoryRollup, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO monthly_category_rollups (user_id, category_id, period, type, total_amount, transaction_count) " +
+                   "VALUES (:userId, :categoryId, :period, :type, :amount, :count) " +
+                   "ON CONFLICT (user_id, category_id, period, type) DO UPDATE SET " +
+                   "total_amount = monthly_category_rollups.total_amount + EXCLUDED.total_amount, " +
+                   "transaction_count = monthly_category_rollups.transaction_count + EXCLUDED.transaction_count",
+           nativeQuery = true)
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("categoryId") Long categoryId,
+                   @Param("period") int period,
+                   @Param("type") String type,
+                   @Param("amount") BigDecimal amount,
+                   @Param("count") long count);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM monthly_category_rollups WHERE user_id = :userId", nativeQuery = true)
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO monthly_category_rollups (user_id, category_id, period, type, total_amount, transaction_count) " +
+                   "SELECT t.user_id, t.category_id, " +
+                   "CAST(EXTRACT(YEAR FROM t.transaction_date) * 100 + EXTRACT(MONTH FROM t.transaction_date) AS integer), " +
+                   "t.type, SUM(t.amount), COUNT(*) " +
+                   "FROM transactions t WHERE t.user_id = :userId " +
+                   "GROUP BY t.user_id, t.category_id, " +
+                   "CAST(EXTRACT(YEAR FROM t.transaction_date) * 100 + EXTRACT(MONTH FROM t.transaction_date) AS integer), t.type",
+           nativeQuery = true)
+    int rebuild(@Param("userId") Long userId);
+
+    @Query("SELECT r.type, c.name, c.color, c.icon, SUM(r.totalAmount) FROM MonthlyCategoryRollup r " +
+           "JOIN Category c ON c.id = r.categoryId " +
+           "WHERE r.userId = :userId AND r.period = :period AND r.transactionCount > 0 " +
+           "GROUP BY r.type, c.name, c.color, c.icon ORDER BY SUM(r.totalAmount) DESC")
+    List<Object[]> findCategorySummaryByUserAndPeriod(@Param("userId") Long userId, @Param("period") int period);
+
+    @Query("SELECT r.period, r.type, SUM(r.totalAmount) FROM MonthlyCategoryRollup r " +
+           "WHERE r.userId = :userId AND r.period BETWEEN :fromPeriod AND :toPeriod " +
+           "GROUP BY r.period, r.type")
+    List<Object[]> findMonthlyTotalsByUserAndPeriodBetween(@Param("userId") Long userId,
+                                                           @Param("fromPeriod") int fromPeriod,
+                                                           @Param("toPeriod") int toPeriod);
+}
@@ -0,0 +1,48 @@
+package org.example.repository;
+
+import org.example.entity.MonthlyReportSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+public interface MonthlyReportSnapshotRepository extends JpaRepository<MonthlyReportSnapshot, Long> {
+
+    @Query("SELECT s.payload FROM MonthlyReportSnapshot s WHERE s.userId = :userId AND s.period = :period AND s.stale = false")
+    Optional<byte[]> findFreshPayload(@Param("userId") Long userId, @Param("period") int period);
+
+    // Linha desatualizada e vazia que passa a receber as marcações das escritas antes da primeira geração
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO monthly_report_snapshots (user_id, period, payload, stale, generated_at, version) " +
+                   "VALUES (:userId, :period, CAST('' AS BYTEA), true, now(), 0) " +
+                   "ON CONFLICT (user_id, period) DO NOTHING",
+           nativeQuery = true)
+    int insertPlaceholder(@Param("userId") Long userId, @Param("period") int period);
+
+    @Query("SELECT s.version FROM MonthlyReportSnapshot s WHERE s.userId = :userId AND s.period = :period")
+    Optional<Long> findVersion(@Param("userId") Long userId, @Param("period") int period);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE monthly_report_snapshots SET payload = :payload, stale = false, generated_at = now() " +
+                   "WHERE user_id = :userId AND period = :period AND version = :version",
+           nativeQuery = true)
+    int storeIfUnchanged(@Param("userId") Long userId, @Param("period") int period,
+                         @Param("version") long version, @Param("payload") byte[] payload);
+
+    // A versão avança mesmo em linhas já desatualizadas: invalida regenerações em andamento
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE monthly_report_snapshots SET stale = true, version = version + 1 " +
+                   "WHERE user_id = :userId AND period IN (:periods)",
+           nativeQuery = true)
+    int markStale(@Param("userId") Long userId, @Param("periods") Collection<Integer> periods);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE monthly_report_snapshots SET stale = true, version = version + 1 WHERE user_id = :userId",
+           nativeQuery = true)
+    int markAllStale(@Param("userId") Long userId);
+}
@@ -1,32 +1,96 @@
 package org.example.repository;
 
+import jakarta.persistence.QueryHint;
+import org.example.dto.TransactionExportRow;
+import org.example.dto.TransactionViewDto;
 import org.example.entity.Transaction;
 import org.example.entity.User;
 import org.example.entity.Category;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
 
+    String TRANSACTION_VIEW = "SELECT new org.example.dto.TransactionViewDto(t.id, t.description, t.amount, t.type, " +
+            "t.transactionDate, t.notes, t.createdAt, c.id, c.name, c.type, c.color, c.icon) " +
+            "FROM Transaction t JOIN t.category c ";
+
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByUserOrderByTransactionDateDesc(User user);
 
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT t FROM Transaction t WHERE t.user = :user ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findFirstPageByUser(@Param("user") User user, Pageable pageable);
+
+    @EntityGraph(attributePaths = "category")
+    @Query("SELECT t FROM Transaction t WHERE t.user = :user AND " +
+           "t.transactionDate <= :transactionDate AND (t.transactionDate < :transactionDate OR t.id < :id) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<Transaction> findPageByUserAfter(@Param("user") User user,
+                                          @Param("transactionDate") LocalDateTime transactionDate,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
+    @Query(TRANSACTION_VIEW + "WHERE t.user = :user ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionViewDto> findViewsByUser(@Param("user") User user);
+
+    @Query(TRANSACTION_VIEW + "WHERE t.user = :user ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionViewDto> findFirstViewPageByUser(@Param("user") User user, Pageable pageable);
+
+    @Query(TRANSACTION_VIEW + "WHERE t.user = :user AND " +
+           "t.transactionDate <= :transactionDate AND (t.transactionDate < :transactionDate OR t.id < :id) " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionViewDto> findViewPageByUserAfter(@Param("user") User user,
+                                                     @Param("transactionDate") LocalDateTime transactionDate,
+                                                     @Param("id") Long id,
+                                                     Pageable pageable);
+
+    @Query(TRANSACTION_VIEW + "WHERE t.user = :user AND t.transactionDate BETWEEN :startDate AND :endDate " +
+           "ORDER BY t.transactionDate DESC, t.id DESC")
+    List<TransactionViewDto> findViewsByUserAndDateBetween(@Param("user") User user,
+                                                           @Param("startDate") LocalDateTime startDate,
+                                                           @Param("endDate") LocalDateTime endDate);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new org.example.dto.TransactionExportRow(t.id, t.transactionDate, t.description, t.amount, t.type, c.name, t.notes) " +
+           "FROM Transaction t JOIN t.category c WHERE t.user = :user ORDER BY t.transactionDate DESC, t.id DESC")
+    Stream<TransactionExportRow> streamExportRowsByUser(@Param("user") User user);
+
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByUserAndTransactionDateBetweenOrderByTransactionDateDesc(
             User user, LocalDateTime startDate, LocalDateTime endDate);
 
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByUserAndCategoryOrderByTransactionDateDesc(User user, Category category);
 
+    @EntityGraph(attributePaths = "category")
     List<Transaction> findByUserAndTypeOrderByTransactionDateDesc(User user, Transaction.TransactionType type);
 
+    @EntityGraph(attributePaths = "category")
     Optional<Transaction> findByIdAndUser(Long id, User user);
 
+    List<Transaction> findByUserAndIdIn(User user, Collection<Long> ids);
+
+    @Query("SELECT t.type, SUM(t.amount), COUNT(t) FROM Transaction t WHERE t.user = :user GROUP BY t.type")
+    List<Object[]> summarizeByUser(@Param("user") User user);
+
     @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.user = :user AND t.type = :type")
     BigDecimal sumByUserAndType(@Param("user") User user, @Param("type") Transaction.TransactionType type);
 
@@ -41,7 +105,4 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
                                                                  @Param("type") Transaction.TransactionType type,
                                                                  @Param("startDate") LocalDateTime startDate,
                                                                  @Param("endDate") LocalDateTime endDate);
-
-    @Query("SELECT FUNCTION('DATE_FORMAT', t.transactionDate, '%Y-%m'), SUM(t.amount) FROM Transaction t WHERE t.user = :user AND t.type = :type GROUP BY FUNCTION('DATE_FORMAT', t.transactionDate, '%Y-%m') ORDER BY FUNCTION('DATE_FORMAT', t.transactionDate, '%Y-%m')")
-    List<Object[]> findMonthlySummaryByUserAndType(@Param("user") User user, @Param("type") Transaction.TransactionType type);
 }
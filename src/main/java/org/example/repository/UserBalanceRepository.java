@@ -0,0 +1,49 @@
+package org.example.repository;
+
+import org.example.dto.DashboardSummary;
+import org.example.entity.UserBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface UserBalanceRepository extends JpaRepository<UserBalance, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE UserBalance b SET b.totalIncome = b.totalIncome + :income, b.totalExpense = b.totalExpense + :expense, " +
+           "b.transactionCount = b.transactionCount + :count, b.updatedAt = :now WHERE b.userId = :userId")
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("income") BigDecimal income,
+                   @Param("expense") BigDecimal expense,
+                   @Param("count") long count,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO user_balances (user_id, total_income, total_expense, transaction_count, updated_at) " +
+                   "SELECT :userId, " +
+                   "COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount END), 0), " +
+                   "COALESCE(SUM(CASE WHEN t.type = 'EXPENSE' THEN t.amount END), 0), " +
+                   "COUNT(t.id), now() " +
+                   "FROM transactions t WHERE t.user_id = :userId " +
+                   "ON CONFLICT (user_id) DO UPDATE SET total_income = EXCLUDED.total_income, " +
+                   "total_expense = EXCLUDED.total_expense, transaction_count = EXCLUDED.transaction_count, " +
+                   "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    int rebuild(@Param("userId") Long userId);
+
+    @Query(value = "SELECT b.total_income AS \"totalIncome\", b.total_expense AS \"totalExpense\", " +
+                   "COALESCE((SELECT SUM(r.total_amount) FROM monthly_category_rollups r " +
+                   "WHERE r.user_id = b.user_id AND r.period = :period AND r.type = 'INCOME'), 0) AS \"monthlyIncome\", " +
+                   "COALESCE((SELECT SUM(r.total_amount) FROM monthly_category_rollups r " +
+                   "WHERE r.user_id = b.user_id AND r.period = :period AND r.type = 'EXPENSE'), 0) AS \"monthlyExpense\", " +
+                   "(SELECT COUNT(*) FROM goals g WHERE g.user_id = b.user_id AND g.status = 'ACTIVE') AS \"activeGoals\" " +
+                   "FROM user_balances b WHERE b.user_id = :userId",
+           nativeQuery = true)
+    Optional<DashboardSummary> findDashboardSummary(@Param("userId") Long userId, @Param("period") int period);
+}
@@ -0,0 +1,203 @@
+package org.example.service;
+
+import org.example.config.ReplicaRoutingPolicy;
+import org.example.dto.LedgerVerificationDto;
+import org.example.dto.TransactionDelta;
+import org.example.entity.Transaction;
+import org.example.entity.User;
+import org.example.entity.UserBalance;
+import org.example.exception.ResourceNotFoundException;
+import org.example.repository.TransactionRepository;
+import org.example.repository.UserBalanceRepository;
+import org.example.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Totais acumulados por usuário (receitas, despesas, saldo e quantidade),
+ * mantidos na mesma transação de cada escrita para que o dashboard leia uma
+ * única linha em vez de agregar todo o histórico.
+ */
+@Service
+public class BalanceLedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BalanceLedgerService.class);
+
+    @Autowired
+    private UserBalanceRepository userBalanceRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRollupService categoryRollupService;
+
+    @Autowired
+    private ReportCacheService reportCacheService;
+
+    @Autowired
+    private MonthlyReportSnapshotService monthlyReportSnapshotService;
+
+    @Autowired
+    private ReplicaRoutingPolicy replicaRoutingPolicy;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserWriteSerializer userWriteSerializer;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate initializationTemplate;
+
+    private TransactionTemplate verificationTemplate;
+
+    @PostConstruct
+    public void init() {
+        // Inicialização em transação própria para funcionar também a partir de leituras read-only
+        initializationTemplate = new TransactionTemplate(transactionManager);
+        initializationTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // Ledger e histórico lidos no mesmo snapshot e no primário (transação não read-only):
+        // escritas concorrentes ou o atraso da réplica não aparecem como divergência
+        verificationTemplate = new TransactionTemplate(transactionManager);
+        verificationTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        verificationTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Retorna {@code false} quando os agregados do usuário precisaram ser
+     * reconstruídos a partir do histórico, que já inclui esta escrita.
+     */
+    public boolean applyDeltas(User user, List<TransactionDelta> deltas) {
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        long count = 0;
+
+        for (TransactionDelta delta : deltas) {
+            if (delta.getType() == Transaction.TransactionType.INCOME) {
+                income = income.add(delta.getAmount());
+            } else {
+                expense = expense.add(delta.getAmount());
+            }
+            count += delta.getCount();
+        }
+
+        if (income.signum() == 0 && expense.signum() == 0 && count == 0) {
+            return true;
+        }
+
+        int updated = userBalanceRepository.applyDelta(user.getId(), income, expense, count, LocalDateTime.now());
+        if (updated == 0) {
+            // Primeiro uso do ledger para este usuário: recalcular a partir do histórico (já inclui esta escrita)
+            rebuildAggregates(user.getId());
+            return false;
+        }
+        return true;
+    }
+
+    public UserBalance getBalance(User user) {
+        return userBalanceRepository.findById(user.getId()).orElseGet(() -> ensureInitialized(user));
+    }
+
+    /**
+     * Inicializa os agregados a partir de uma leitura. Roda sob o lock de escrita do
+     * usuário: uma escrita concorrente (inclusive a reconstrução de fallback em
+     * applyDeltas) não pode gravar agregados calculados sobre um snapshot diferente.
+     * O resultado é lido na própria transação de inicialização (primário), já que a
+     * leitura atual pode estar na réplica.
+     */
+    public UserBalance ensureInitialized(User user) {
+        UserBalance balance = userWriteSerializer.execute(user.getId(), () -> initializationTemplate.execute(status -> {
+            if (!userBalanceRepository.existsById(user.getId())) {
+                rebuildAggregates(user.getId());
+            }
+            return userBalanceRepository.findById(user.getId()).orElseThrow();
+        }));
+        replicaRoutingPolicy.markWrite(user.getId());
+        return balance;
+    }
+
+    // Reconstruções também ficam sob o lock do usuário, fora da transação que recalcula
+    public void rebuild(Long userId) {
+        userWriteSerializer.run(userId, () -> transactionTemplate.executeWithoutResult(status -> rebuildAggregates(userId)));
+    }
+
+    public int rebuildAll() {
+        List<Long> userIds = userRepository.findAllIds();
+        for (Long userId : userIds) {
+            rebuild(userId);
+        }
+        logger.info("Ledger de saldos reconstruído para {} usuários", userIds.size());
+        return userIds.size();
+    }
+
+    // A linha do ledger marca que os agregados do usuário (saldos e rollups mensais) já foram inicializados
+    private void rebuildAggregates(Long userId) {
+        userBalanceRepository.rebuild(userId);
+        categoryRollupService.rebuild(userId);
+        monthlyReportSnapshotService.markAllStale(userId);
+        reportCacheService.invalidateUser(userId);
+    }
+
+    public LedgerVerificationDto verify(Long userId) {
+        return verificationTemplate.execute(status -> compareWithHistory(userId));
+    }
+
+    public List<LedgerVerificationDto> verifyAll() {
+        List<LedgerVerificationDto> divergent = new ArrayList<>();
+        for (Long userId : userRepository.findAllIds()) {
+            LedgerVerificationDto result = verify(userId);
+            if (!result.isConsistent()) {
+                divergent.add(result);
+            }
+        }
+        return divergent;
+    }
+
+    private LedgerVerificationDto compareWithHistory(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Usuário", "id", userId));
+
+        BigDecimal actualIncome = BigDecimal.ZERO;
+        BigDecimal actualExpense = BigDecimal.ZERO;
+        long actualCount = 0;
+        for (Object[] row : transactionRepository.summarizeByUser(user)) {
+            Transaction.TransactionType type = (Transaction.TransactionType) row[0];
+            BigDecimal amount = (BigDecimal) row[1];
+            if (type == Transaction.TransactionType.INCOME) {
+                actualIncome = amount;
+            } else {
+                actualExpense = amount;
+            }
+            actualCount += (Long) row[2];
+        }
+
+        UserBalance balance = userBalanceRepository.findById(userId).orElseGet(UserBalance::new);
+        LedgerVerificationDto result = new LedgerVerificationDto(userId,
+                balance.getTotalIncome(), actualIncome,
+                balance.getTotalExpense(), actualExpense,
+                balance.getTransactionCount(), actualCount);
+
+        if (!result.isConsistent()) {
+            logger.warn("Ledger de saldos divergente para o usuário {}", userId);
+        }
+        return result;
+    }
+}
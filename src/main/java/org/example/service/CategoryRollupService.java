@@ -0,0 +1,156 @@
+package org.example.service;
+
+import org.example.dto.CategorySummaryDto;
+import org.example.dto.MonthlyTotalsDto;
+import org.example.dto.TransactionDelta;
+import org.example.dto.YearlyComparisonDto;
+import org.example.entity.Transaction;
+import org.example.entity.User;
+import org.example.repository.MonthlyCategoryRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Totais por (usuário, categoria, mês, tipo), atualizados incrementalmente a cada
+ * escrita. Atualizações retroativas aparecem como um delta negativo no mês antigo
+ * e um positivo no mês novo.
+ */
+@Service
+public class CategoryRollupService {
+
+    @Autowired
+    private MonthlyCategoryRollupRepository rollupRepository;
+
+    public static int periodOf(LocalDateTime date) {
+        return date.getYear() * 100 + date.getMonthValue();
+    }
+
+    public static int periodOf(int year, int month) {
+        return year * 100 + month;
+    }
+
+    public void applyDeltas(User user, List<TransactionDelta> deltas) {
+        Map<String, RollupDelta> coalesced = new LinkedHashMap<>();
+        for (TransactionDelta delta : deltas) {
+            int period = periodOf(delta.getTransactionDate());
+            String key = delta.getCategoryId() + ":" + period + ":" + delta.getType();
+            RollupDelta rollup = coalesced.computeIfAbsent(key, k ->
+                    new RollupDelta(delta.getCategoryId(), period, delta.getType()));
+            rollup.amount = rollup.amount.add(delta.getAmount());
+            rollup.count += delta.getCount();
+        }
+
+        for (RollupDelta rollup : coalesced.values()) {
+            if (rollup.amount.signum() != 0 || rollup.count != 0) {
+                rollupRepository.applyDelta(user.getId(), rollup.categoryId, rollup.period,
+                        rollup.type.name(), rollup.amount, rollup.count);
+            }
+        }
+    }
+
+    public void rebuild(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+        rollupRepository.rebuild(userId);
+    }
+
+    public Map<Transaction.TransactionType, List<CategorySummaryDto>> getCategorySummary(User user, int year, int month) {
+        Map<Transaction.TransactionType, List<CategorySummaryDto>> summary = new EnumMap<>(Transaction.TransactionType.class);
+        Map<Transaction.TransactionType, BigDecimal> totals = new EnumMap<>(Transaction.TransactionType.class);
+        for (Transaction.TransactionType type : Transaction.TransactionType.values()) {
+            summary.put(type, new ArrayList<>());
+            totals.put(type, BigDecimal.ZERO);
+        }
+
+        for (Object[] row : rollupRepository.findCategorySummaryByUserAndPeriod(user.getId(), periodOf(year, month))) {
+            Transaction.TransactionType type = (Transaction.TransactionType) row[0];
+            BigDecimal amount = (BigDecimal) row[4];
+            summary.get(type).add(CategorySummaryDto.builder()
+                    .categoryName((String) row[1])
+                    .color((String) row[2])
+                    .icon((String) row[3])
+                    .amount(amount)
+                    .build());
+            totals.put(type, totals.get(type).add(amount));
+        }
+
+        summary.forEach((type, items) -> {
+            BigDecimal total = totals.get(type);
+            if (total.signum() != 0) {
+                for (CategorySummaryDto item : items) {
+                    item.setPercentage(item.getAmount().multiply(BigDecimal.valueOf(100))
+                            .divide(total, 2, RoundingMode.HALF_UP).doubleValue());
+                }
+            }
+        });
+
+        return summary;
+    }
+
+    // Uma única consulta agregada cobre todos os anos; meses sem movimento são preenchidos com zero
+    public List<YearlyComparisonDto> getYearlyComparison(User user, Collection<Integer> years) {
+        int fromYear = Collections.min(years);
+        int toYear = Collections.max(years);
+
+        Map<Integer, BigDecimal[]> totalsByPeriod = new HashMap<>();
+        for (Object[] row : rollupRepository.findMonthlyTotalsByUserAndPeriodBetween(
+                user.getId(), periodOf(fromYear, 1), periodOf(toYear, 12))) {
+            BigDecimal[] totals = totalsByPeriod.computeIfAbsent((Integer) row[0],
+                    period -> new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ZERO});
+            int index = row[1] == Transaction.TransactionType.INCOME ? 0 : 1;
+            totals[index] = totals[index].add((BigDecimal) row[2]);
+        }
+
+        List<YearlyComparisonDto> result = new ArrayList<>();
+        for (Integer year : years) {
+            List<MonthlyTotalsDto> months = new ArrayList<>(12);
+            BigDecimal yearIncome = BigDecimal.ZERO;
+            BigDecimal yearExpense = BigDecimal.ZERO;
+            for (int month = 1; month <= 12; month++) {
+                BigDecimal[] totals = totalsByPeriod.getOrDefault(periodOf(year, month),
+                        new BigDecimal[] {BigDecimal.ZERO, BigDecimal.ZERO});
+                months.add(MonthlyTotalsDto.builder()
+                        .month(month)
+                        .income(totals[0])
+                        .expense(totals[1])
+                        .balance(totals[0].subtract(totals[1]))
+                        .build());
+                yearIncome = yearIncome.add(totals[0]);
+                yearExpense = yearExpense.add(totals[1]);
+            }
+            result.add(YearlyComparisonDto.builder()
+                    .year(year)
+                    .totalIncome(yearIncome)
+                    .totalExpense(yearExpense)
+                    .balance(yearIncome.subtract(yearExpense))
+                    .months(months)
+                    .build());
+        }
+        return result;
+    }
+
+    private static class RollupDelta {
+        private final Long categoryId;
+        private final int period;
+        private final Transaction.TransactionType type;
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+
+        RollupDelta(Long categoryId, int period, Transaction.TransactionType type) {
+            this.categoryId = categoryId;
+            this.period = period;
+            this.type = type;
+        }
+    }
+}
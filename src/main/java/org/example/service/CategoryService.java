@@ -1,10 +1,12 @@
 package org.example.service;
 
+import org.example.dto.CategoryViewDto;
 import org.example.entity.Category;
 import org.example.entity.User;
 import org.example.repository.CategoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,6 +17,12 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ReportCacheService reportCacheService;
+
+    @Autowired
+    private MonthlyReportSnapshotService monthlyReportSnapshotService;
+
     public Category createCategory(Category category) {
         if (categoryRepository.existsByNameAndUser(category.getName(), category.getUser())) {
             throw new RuntimeException("Category already exists for this user");
@@ -22,20 +30,36 @@ public class CategoryService {
         return categoryRepository.save(category);
     }
 
+    @Transactional(readOnly = true)
     public List<Category> getCategoriesByUser(User user) {
         return categoryRepository.findByUserAndActiveTrue(user);
     }
 
+    @Transactional(readOnly = true)
     public List<Category> getCategoriesByUserAndType(User user, Category.TransactionType type) {
         return categoryRepository.findByUserAndType(user, type);
     }
 
+    @Transactional(readOnly = true)
+    public List<CategoryViewDto> getCategoryViewsByUser(User user) {
+        return categoryRepository.findActiveViewsByUser(user);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategoryViewDto> getCategoryViewsByUserAndType(User user, Category.TransactionType type) {
+        return categoryRepository.findViewsByUserAndType(user, type);
+    }
+
     public Optional<Category> getCategoryById(Long id, User user) {
         return categoryRepository.findByIdAndUser(id, user);
     }
 
     public Category updateCategory(Category category) {
-        return categoryRepository.save(category);
+        Category savedCategory = categoryRepository.save(category);
+        // Nome, cor e ícone aparecem nos relatórios em cache
+        monthlyReportSnapshotService.markAllStale(category.getUser().getId());
+        reportCacheService.invalidateUser(category.getUser().getId());
+        return savedCategory;
     }
 
     public void deleteCategory(Long id, User user) {
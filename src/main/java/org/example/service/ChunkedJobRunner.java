@@ -0,0 +1,277 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.entity.JobRun;
+import org.example.repository.JobRunRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executa jobs que percorrem uma tabela inteira: os ids são lidos por cursor
+ * (id > último id) em blocos, cada bloco é processado no pool de workers e o
+ * checkpoint avança apenas até o último bloco concluído sem lacunas. Uma
+ * execução interrompida (instância derrubada ou bloco com erro) é retomada do
+ * checkpoint pela varredura periódica, sem esperar o próximo disparo do cron,
+ * enquanto estiver dentro da janela de retomada e do limite de tentativas.
+ */
+@Service
+public class ChunkedJobRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedJobRunner.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @FunctionalInterface
+    public interface ChunkReader {
+        List<Long> nextIds(Long afterId, int limit);
+    }
+
+    @FunctionalInterface
+    public interface ChunkProcessor {
+        // Retorna quantos itens do bloco geraram alguma ação
+        int process(List<Long> ids);
+    }
+
+    @Autowired
+    private JobRunRepository jobRunRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.jobs.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${app.jobs.parallelism:4}")
+    private int parallelism;
+
+    // Execução RUNNING sem checkpoint há mais que isso é considerada interrompida
+    @Value("${app.jobs.stale-after:15m}")
+    private Duration staleAfter;
+
+    @Value("${app.jobs.resume-window:12h}")
+    private Duration resumeWindow;
+
+    @Value("${app.jobs.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private ExecutorService workers;
+
+    private final Map<String, JobDefinition> jobs = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            String name = "job-worker-" + counter.getAndIncrement();
+            return virtualThreads
+                    ? Thread.ofVirtual().name(name).unstarted(runnable)
+                    : Thread.ofPlatform().name(name).daemon(true).unstarted(runnable);
+        };
+        workers = Executors.newFixedThreadPool(parallelism, factory);
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdown();
+        try {
+            workers.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Jobs registrados podem ser retomados pela varredura sem depender de quem os disparou
+    public void register(String jobName, ChunkReader reader, ChunkProcessor processor) {
+        jobs.put(jobName, new JobDefinition(reader, processor));
+    }
+
+    public Optional<JobRun> run(String jobName) {
+        JobDefinition job = jobs.get(jobName);
+        if (job == null) {
+            throw new IllegalArgumentException("Job não registrado: " + jobName);
+        }
+        return run(jobName, job.reader, job.processor);
+    }
+
+    /**
+     * Retoma execuções com falha ou interrompidas (RUNNING sem checkpoint recente).
+     * Os crons disparam com um dia ou mais de intervalo, mais que a janela de
+     * retomada; sem esta varredura o checkpoint nunca seria aproveitado.
+     */
+    @Scheduled(initialDelayString = "${app.jobs.resume-initial-delay:60000}",
+               fixedDelayString = "${app.jobs.resume-interval:300000}")
+    public void resumeInterruptedRuns() {
+        LocalDateTime now = LocalDateTime.now();
+        for (String jobName : jobs.keySet()) {
+            Optional<JobRun> latest = jobRunRepository.findTopByJobNameOrderByIdDesc(jobName);
+            if (latest.isPresent() && isResumable(latest.get(), now)) {
+                run(jobName);
+            }
+        }
+    }
+
+    /**
+     * Executa (ou retoma) o job e devolve a execução com os totais, ou vazio
+     * quando outra instância já está executando o mesmo job.
+     */
+    public Optional<JobRun> run(String jobName, ChunkReader reader, ChunkProcessor processor) {
+        JobRun run;
+        try {
+            run = transactionTemplate.execute(status -> startOrResume(jobName));
+        } catch (DataIntegrityViolationException e) {
+            // Outra instância criou a execução ao mesmo tempo
+            run = null;
+        }
+        if (run == null) {
+            logger.info("Job {} já está em execução em outra instância", jobName);
+            return Optional.empty();
+        }
+
+        if (run.getAttempts() > 1) {
+            logger.info("Retomando job {} (execução {}) a partir do id {}", jobName, run.getId(), run.getCheckpointId());
+        }
+
+        Deque<Chunk> inFlight = new ArrayDeque<>();
+        try {
+            Long afterId = run.getCheckpointId();
+            while (true) {
+                List<Long> ids = reader.nextIds(afterId, chunkSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                afterId = ids.get(ids.size() - 1);
+                inFlight.add(new Chunk(afterId, ids.size(), workers.submit(() -> processor.process(ids))));
+
+                // Mantém no máximo "parallelism" blocos em andamento e registra os já concluídos em ordem
+                while (inFlight.size() >= parallelism || (!inFlight.isEmpty() && inFlight.peek().result.isDone())) {
+                    complete(run, inFlight.poll());
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                complete(run, inFlight.poll());
+            }
+
+            run.setStatus(JobRun.Status.COMPLETED);
+            run.setFinishedAt(LocalDateTime.now());
+            save(run);
+            logger.info("Job {} concluído: {} itens em {} blocos, {} ms ({} itens/s)", jobName,
+                    run.getItemsProcessed(), run.getChunks(), run.getDurationMillis(),
+                    String.format("%.1f", run.getItemsPerSecond()));
+        } catch (Exception e) {
+            inFlight.forEach(chunk -> chunk.result.cancel(true));
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            run.setStatus(JobRun.Status.FAILED);
+            run.setLastError(truncate(cause.toString()));
+            save(run);
+            logger.error("Job {} falhou após o id {}; será retomado na próxima execução", jobName, run.getCheckpointId(), cause);
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return Optional.of(run);
+    }
+
+    public List<JobRun> getRecentRuns() {
+        return jobRunRepository.findTop20ByOrderByIdDesc();
+    }
+
+    private JobRun startOrResume(String jobName) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<JobRun> latest = jobRunRepository.findFirstByJobNameOrderByIdDesc(jobName);
+        if (latest.isPresent()) {
+            JobRun previous = latest.get();
+            boolean running = previous.getStatus() == JobRun.Status.RUNNING;
+            if (running && previous.getUpdatedAt().isAfter(now.minus(staleAfter))) {
+                return null;
+            }
+            if (running || previous.getStatus() == JobRun.Status.FAILED) {
+                if (isResumable(previous, now)) {
+                    previous.setStatus(JobRun.Status.RUNNING);
+                    previous.setAttempts(previous.getAttempts() + 1);
+                    previous.setUpdatedAt(now);
+                    previous.setLastError(null);
+                    return jobRunRepository.saveAndFlush(previous);
+                }
+                previous.setStatus(JobRun.Status.ABANDONED);
+                previous.setFinishedAt(now);
+                jobRunRepository.saveAndFlush(previous);
+            }
+        }
+        return jobRunRepository.saveAndFlush(new JobRun(jobName));
+    }
+
+    // Com falha ou interrompida, iniciada dentro da janela e ainda com tentativas disponíveis
+    private boolean isResumable(JobRun run, LocalDateTime now) {
+        boolean interrupted = run.getStatus() == JobRun.Status.FAILED
+                || (run.getStatus() == JobRun.Status.RUNNING && run.getUpdatedAt().isBefore(now.minus(staleAfter)));
+        return interrupted
+                && run.getStartedAt().isAfter(now.minus(resumeWindow))
+                && run.getAttempts() < maxAttempts;
+    }
+
+    private void complete(JobRun run, Chunk chunk) throws InterruptedException, ExecutionException {
+        int affected = chunk.result.get();
+        run.setCheckpointId(chunk.lastId);
+        run.setItemsProcessed(run.getItemsProcessed() + chunk.size);
+        run.setItemsAffected(run.getItemsAffected() + affected);
+        run.setChunks(run.getChunks() + 1);
+        save(run);
+    }
+
+    private void save(JobRun run) {
+        run.setUpdatedAt(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> jobRunRepository.save(run));
+    }
+
+    private String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private static class JobDefinition {
+        private final ChunkReader reader;
+        private final ChunkProcessor processor;
+
+        JobDefinition(ChunkReader reader, ChunkProcessor processor) {
+            this.reader = reader;
+            this.processor = processor;
+        }
+    }
+
+    private static class Chunk {
+        private final Long lastId;
+        private final int size;
+        private final Future<Integer> result;
+
+        Chunk(Long lastId, int size, Future<Integer> result) {
+            this.lastId = lastId;
+            this.size = size;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package org.example.service;
+
+import org.example.entity.EmailOutboxMessage;
+import org.example.repository.EmailOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Entrega as mensagens do outbox de e-mails. Cada lote é retirado com uma
+ * reserva temporária (next_attempt_at avançado), enviado em uma única conexão
+ * SMTP pelo mailExecutor e depois marcado como enviado, reagendado com backoff
+ * exponencial ou movido para DEAD ao esgotar as tentativas. Falhas seguidas de
+ * lotes inteiros abrem o circuito e suspendem o envio por um período.
+ */
+@Service
+public class EmailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    @Autowired
+    private EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    @Qualifier("mailExecutor")
+    private TaskExecutor mailExecutor;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${spring.mail.username:}")
+    private String from;
+
+    @Value("${app.mail.concurrency:4}")
+    private int concurrency;
+
+    @Value("${app.mail.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.lease:5m}")
+    private Duration lease;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.initial-backoff:30s}")
+    private Duration initialBackoff;
+
+    @Value("${app.mail.outbox.max-backoff:6h}")
+    private Duration maxBackoff;
+
+    @Value("${app.mail.outbox.circuit-breaker.failure-threshold:3}")
+    private int failureThreshold;
+
+    @Value("${app.mail.outbox.circuit-breaker.open-duration:1m}")
+    private Duration openDuration;
+
+    @Value("${app.mail.outbox.sent-retention:7d}")
+    private Duration sentRetention;
+
+    // Lotes seguidos em que nenhuma mensagem foi aceita pelo servidor SMTP
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private volatile Instant openUntil = Instant.EPOCH;
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:2000}")
+    public void poll() {
+        if (isCircuitOpen()) {
+            return;
+        }
+
+        // Com o circuito meio aberto, apenas um lote de teste é enviado
+        int maxBatches = consecutiveFailures.get() >= failureThreshold ? 1 : concurrency;
+        for (int i = 0; i < maxBatches; i++) {
+            // Um lote que falhou nesta passada pode ter aberto o circuito
+            if (i > 0 && isCircuitOpen()) {
+                return;
+            }
+            List<EmailOutboxMessage> batch = claimBatch();
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                mailExecutor.execute(() -> deliver(batch));
+            } catch (TaskRejectedException e) {
+                // A reserva expira e o lote volta a ser retirado em outra passada
+                logger.warn("Executor de e-mails saturado; {} mensagens aguardarão a próxima passada", batch.size());
+                return;
+            }
+            if (batch.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    @Scheduled(cron = "${app.mail.outbox.cleanup-cron:0 0 3 * * *}")
+    public void purgeSent() {
+        Integer removed = transactionTemplate.execute(status ->
+                emailOutboxRepository.deleteSentBefore(LocalDateTime.now().minus(sentRetention)));
+        if (removed != null && removed > 0) {
+            logger.info("{} e-mails enviados removidos do outbox", removed);
+        }
+    }
+
+    public int requeueDead() {
+        Integer requeued = transactionTemplate.execute(status ->
+                emailOutboxRepository.requeueDead(LocalDateTime.now()));
+        return requeued != null ? requeued : 0;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (EmailOutboxMessage.Status status : EmailOutboxMessage.Status.values()) {
+            counts.put(status.name(), 0L);
+        }
+        for (Object[] row : emailOutboxRepository.countByStatus()) {
+            counts.put(((EmailOutboxMessage.Status) row[0]).name(), (Long) row[1]);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("messages", counts);
+        stats.put("circuitOpen", isCircuitOpen());
+        stats.put("openUntil", isCircuitOpen() ? openUntil.toString() : null);
+        stats.put("consecutiveFailures", consecutiveFailures.get());
+        return stats;
+    }
+
+    private List<EmailOutboxMessage> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutboxMessage> due = emailOutboxRepository.lockDue(now, batchSize);
+            LocalDateTime leaseUntil = now.plus(lease);
+            for (EmailOutboxMessage message : due) {
+                message.setNextAttemptAt(leaseUntil);
+            }
+            return due;
+        });
+    }
+
+    private void deliver(List<EmailOutboxMessage> batch) {
+        SimpleMailMessage[] mails = new SimpleMailMessage[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            mails[i] = toMailMessage(batch.get(i));
+        }
+
+        Map<Object, Exception> failures = new IdentityHashMap<>();
+        try {
+            // Uma única chamada reaproveita a mesma conexão SMTP para o lote inteiro
+            mailSender.send(mails);
+        } catch (MailSendException e) {
+            failures.putAll(e.getFailedMessages());
+            if (failures.isEmpty()) {
+                for (SimpleMailMessage mail : mails) {
+                    failures.put(mail, e);
+                }
+            }
+        } catch (MailException e) {
+            for (SimpleMailMessage mail : mails) {
+                failures.put(mail, e);
+            }
+        }
+
+        recordOutcome(batch, mails, failures);
+
+        if (failures.size() == mails.length) {
+            onBatchFailure();
+        } else {
+            consecutiveFailures.set(0);
+        }
+    }
+
+    private void recordOutcome(List<EmailOutboxMessage> batch, SimpleMailMessage[] mails, Map<Object, Exception> failures) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < batch.size(); i++) {
+                EmailOutboxMessage message = batch.get(i);
+                Exception failure = failures.get(mails[i]);
+                if (failure == null) {
+                    message.setStatus(EmailOutboxMessage.Status.SENT);
+                    message.setSentAt(now);
+                    message.setLastError(null);
+                    logger.info("Email {} enviado para: {}", message.getId(), message.getRecipient());
+                } else {
+                    scheduleRetry(message, failure, now);
+                }
+            }
+            emailOutboxRepository.saveAll(batch);
+        });
+    }
+
+    private void scheduleRetry(EmailOutboxMessage message, Exception failure, LocalDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(truncate(failure.getMessage()));
+
+        if (attempts >= maxAttempts) {
+            message.setStatus(EmailOutboxMessage.Status.DEAD);
+            logger.error("Email {} para {} descartado após {} tentativas: {}",
+                    message.getId(), message.getRecipient(), attempts, failure.getMessage());
+            return;
+        }
+
+        message.setNextAttemptAt(now.plus(backoff(attempts)));
+        logger.warn("Erro ao enviar email {} para {} (tentativa {}): {}",
+                message.getId(), message.getRecipient(), attempts, failure.getMessage());
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private void onBatchFailure() {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openUntil = Instant.now().plus(openDuration);
+            logger.warn("Servidor SMTP indisponível; envio de e-mails suspenso até {}", openUntil);
+        }
+    }
+
+    private boolean isCircuitOpen() {
+        return Instant.now().isBefore(openUntil);
+    }
+
+    private SimpleMailMessage toMailMessage(EmailOutboxMessage message) {
+        SimpleMailMessage mail = new SimpleMailMessage();
+        if (!from.isBlank()) {
+            mail.setFrom(from);
+        }
+        mail.setTo(message.getRecipient());
+        mail.setSubject(message.getSubject());
+        mail.setText(message.getBody());
+        return mail;
+    }
+
+    private String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -1,13 +1,11 @@
 package org.example.service;
 
+import org.example.entity.EmailOutboxMessage;
 import org.example.entity.Goal;
 import org.example.entity.User;
+import org.example.repository.EmailOutboxRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.text.NumberFormat;
@@ -16,67 +14,30 @@ import java.util.Locale;
 @Service
 public class EmailService {
 
-    private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
-
     @Autowired
-    private JavaMailSender mailSender;
+    private EmailOutboxRepository emailOutboxRepository;
 
-    private final NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(new Locale("pt", "BR"));
+    private final NumberFormat currencyFormatter = NumberFormat.getCurrencyInstance(Locale.of("pt", "BR"));
 
     public void sendGoalCompletedEmail(User user, Goal goal) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(user.getEmail());
-        message.setSubject("Meta Financeira Concluída");
-        message.setText(buildGoalCompletedMessage(user, goal));
-
-        try {
-            mailSender.send(message);
-            logger.info("Email de meta concluída enviado para: {}", user.getEmail());
-        } catch (Exception e) {
-            logger.error("Erro ao enviar email para {}: {}", user.getEmail(), e.getMessage());
-        }
+        enqueue(user, "Meta Financeira Concluída", buildGoalCompletedMessage(user, goal));
     }
 
     public void sendGoalOverdueEmail(User user, Goal goal) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(user.getEmail());
-        message.setSubject("Meta Financeira Vencida");
-        message.setText(buildGoalOverdueMessage(user, goal));
-
-        try {
-            mailSender.send(message);
-            logger.info("Email de meta vencida enviado para: {}", user.getEmail());
-        } catch (Exception e) {
-            logger.error("Erro ao enviar email para {}: {}", user.getEmail(), e.getMessage());
-        }
+        enqueue(user, "Meta Financeira Vencida", buildGoalOverdueMessage(user, goal));
     }
 
     public void sendGoalProgressEmail(User user, Goal goal, int progressPercentage) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(user.getEmail());
-        message.setSubject("Progresso da Meta: " + progressPercentage + "%");
-        message.setText(buildGoalProgressMessage(user, goal, progressPercentage));
-
-        try {
-            mailSender.send(message);
-            logger.info("Email de progresso enviado para: {}", user.getEmail());
-        } catch (Exception e) {
-            logger.error("Erro ao enviar email para {}: {}", user.getEmail(), e.getMessage());
-        }
+        enqueue(user, "Progresso da Meta: " + progressPercentage + "%", buildGoalProgressMessage(user, goal, progressPercentage));
     }
 
     public void sendBudgetExceededEmail(User user, String categoryName, BigDecimal limit, BigDecimal current) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(user.getEmail());
-        message.setSubject("Orçamento Excedido - " + categoryName);
-        message.setText(buildBudgetExceededMessage(user, categoryName, limit, current));
+        enqueue(user, "Orçamento Excedido - " + categoryName, buildBudgetExceededMessage(user, categoryName, limit, current));
+    }
 
-        try {
-            mailSender.send(message);
-            logger.info("Email de orçamento excedido enviado para: {}", user.getEmail());
-        } catch (Exception e) {
-            logger.error("Erro ao enviar email para {}: {}", user.getEmail(), e.getMessage());
-        }
+    // Gravado na transação de quem chamou; o EmailOutboxDispatcher faz o envio depois do commit
+    private void enqueue(User user, String subject, String body) {
+        emailOutboxRepository.save(new EmailOutboxMessage(user.getId(), user.getEmail(), subject, body));
     }
 
     private String buildGoalCompletedMessage(User user, Goal goal) {
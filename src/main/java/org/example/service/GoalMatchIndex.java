@@ -0,0 +1,202 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.example.entity.Goal;
+import org.example.entity.Transaction;
+import org.example.repository.GoalRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Índice em memória das metas ativas de cada usuário, por tipo de transação
+ * relevante e categoria (ou qualquer categoria). Uma transação consulta apenas
+ * as metas que pode afetar. Alterações de metas incrementam users.goals_version
+ * e invalidam o usuário nesta instância, também após o commit; as demais
+ * instâncias percebem a mudança em {@link #refresh}, que compara a versão em
+ * cache com a do banco e só recarrega as metas quando elas diferem.
+ */
+@Service
+public class GoalMatchIndex {
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.goals.match-index.max-users:50000}")
+    private long maxUsers;
+
+    @Value("${app.goals.match-index.ttl:30m}")
+    private Duration ttl;
+
+    private Cache<Long, UserGoals> index;
+
+    private final LongAdder versionMisses = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        index = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                // A versão detecta alterações; a expiração só libera memória de usuários inativos
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public static Transaction.TransactionType relevantType(Goal.GoalType goalType) {
+        switch (goalType) {
+            case SAVINGS:
+                return Transaction.TransactionType.INCOME;
+            case EXPENSE_LIMIT:
+            case DEBT_PAYMENT:
+                return Transaction.TransactionType.EXPENSE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Metas afetadas por um delta. Limites de gastos são mensais: deltas de transações
+     * de outros meses ({@code currentPeriod = false}) não os alcançam.
+     */
+    public List<Long> match(Long userId, Long categoryId, Transaction.TransactionType type, boolean currentPeriod) {
+        UserGoals goals = index.get(userId, this::load);
+        List<Long> goalIds = goals.match(categoryId, type);
+        if (currentPeriod || goals.monthly.isEmpty()) {
+            return goalIds;
+        }
+        List<Long> filtered = new ArrayList<>(goalIds.size());
+        for (Long goalId : goalIds) {
+            if (!goals.monthly.contains(goalId)) {
+                filtered.add(goalId);
+            }
+        }
+        return filtered;
+    }
+
+    /**
+     * Garante que a entrada do usuário reflete as metas do banco. Lê apenas a
+     * versão das metas (chave primária); as metas são recarregadas quando outra
+     * instância, ou esta, as alterou desde a carga.
+     */
+    public void refresh(Long userId) {
+        long version = currentVersion(userId);
+        UserGoals cached = index.getIfPresent(userId);
+        if (cached == null || cached.version != version) {
+            index.put(userId, load(userId, version));
+            versionMisses.increment();
+        }
+    }
+
+    // Chamado na transação que altera as metas: as outras instâncias veem a nova versão após o commit
+    public void invalidate(Long userId) {
+        jdbcTemplate.update("UPDATE users SET goals_version = goals_version + 1 WHERE id = ?", userId);
+        index.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    index.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = index.stats();
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("size", index.estimatedSize());
+        values.put("hits", stats.hitCount());
+        values.put("misses", stats.missCount());
+        values.put("hitRate", stats.hitRate());
+        values.put("evictions", stats.evictionCount());
+        values.put("versionMisses", versionMisses.sum());
+        return values;
+    }
+
+    private long currentVersion(Long userId) {
+        Long version = jdbcTemplate.queryForObject("SELECT goals_version FROM users WHERE id = ?", Long.class, userId);
+        return version != null ? version : 0L;
+    }
+
+    private UserGoals load(Long userId) {
+        return load(userId, currentVersion(userId));
+    }
+
+    // A versão é lida antes das metas: uma alteração concorrente deixa a entrada com versão antiga e ela é recarregada
+    private UserGoals load(Long userId, long version) {
+        UserGoals goals = new UserGoals(version);
+        for (Object[] row : goalRepository.findActiveGoalKeysByUserId(userId)) {
+            Goal.GoalType goalType = (Goal.GoalType) row[1];
+            Transaction.TransactionType type = relevantType(goalType);
+            if (type != null) {
+                goals.add((Long) row[0], type, (Long) row[2]);
+            }
+            if (goalType == Goal.GoalType.EXPENSE_LIMIT) {
+                goals.monthly.add((Long) row[0]);
+            }
+        }
+        return goals;
+    }
+
+    private static final class UserGoals {
+        private final long version;
+        private final Map<Transaction.TransactionType, Map<Long, List<Long>>> byCategory =
+                new EnumMap<>(Transaction.TransactionType.class);
+        private final Map<Transaction.TransactionType, List<Long>> anyCategory =
+                new EnumMap<>(Transaction.TransactionType.class);
+        private final Set<Long> monthly = new HashSet<>();
+
+        UserGoals(long version) {
+            this.version = version;
+        }
+
+        void add(Long goalId, Transaction.TransactionType type, Long categoryId) {
+            if (categoryId == null) {
+                anyCategory.computeIfAbsent(type, t -> new ArrayList<>()).add(goalId);
+            } else {
+                byCategory.computeIfAbsent(type, t -> new HashMap<>())
+                        .computeIfAbsent(categoryId, c -> new ArrayList<>())
+                        .add(goalId);
+            }
+        }
+
+        List<Long> match(Long categoryId, Transaction.TransactionType type) {
+            List<Long> any = anyCategory.getOrDefault(type, Collections.emptyList());
+            Map<Long, List<Long>> categories = byCategory.get(type);
+            List<Long> specific = categories != null && categoryId != null
+                    ? categories.getOrDefault(categoryId, Collections.emptyList())
+                    : Collections.emptyList();
+            if (specific.isEmpty()) {
+                return any;
+            }
+            if (any.isEmpty()) {
+                return specific;
+            }
+            List<Long> all = new ArrayList<>(any.size() + specific.size());
+            all.addAll(any);
+            all.addAll(specific);
+            return all;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.dto.TransactionDelta;
+import org.example.entity.GoalProgressEvent;
+import org.example.entity.User;
+import org.example.repository.GoalProgressEventRepository;
+import org.example.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fila de progresso de metas desacoplada das escritas de transações.
+ * Os eventos são gravados na mesma transação do banco que a escrita e
+ * processados após o commit por um executor dedicado à partição do usuário.
+ * Enquanto um usuário já tem processamento agendado, novos eventos são
+ * apenas acumulados e consumidos pela execução pendente.
+ */
+@Service
+public class GoalProgressQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(GoalProgressQueue.class);
+
+    @Autowired
+    private GoalProgressEventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserWriteSerializer userWriteSerializer;
+
+    @Value("${app.goals.progress.partitions:4}")
+    private int partitionCount;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Set<Long> scheduledUsers = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService[] partitions;
+
+    @PostConstruct
+    public void start() {
+        partitions = new ExecutorService[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            String threadName = "goal-progress-" + i;
+            // Cada partição continua com uma única thread para preservar a ordem dos eventos
+            ThreadFactory factory = virtualThreads
+                    ? Thread.ofVirtual().name(threadName).factory()
+                    : Thread.ofPlatform().name(threadName).daemon(true).factory();
+            partitions[i] = Executors.newSingleThreadExecutor(factory);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (ExecutorService partition : partitions) {
+            partition.shutdown();
+        }
+        try {
+            for (ExecutorService partition : partitions) {
+                partition.awaitTermination(10, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void enqueue(User user, List<TransactionDelta> deltas) {
+        Map<String, GoalProgressEvent> events = new LinkedHashMap<>();
+        // Todo delta é gravado: as metas afetadas são decididas no processamento, com o índice
+        // recarregado do banco, já que a cópia local pode não refletir metas alteradas em outra instância.
+        // O mês da transação é preservado: limites de gastos só contam despesas do mês corrente
+        for (TransactionDelta delta : deltas) {
+            LocalDate period = delta.getTransactionDate() != null
+                    ? YearMonth.from(delta.getTransactionDate()).atDay(1) : null;
+            String key = delta.getCategoryId() + ":" + delta.getType() + ":" + period;
+            GoalProgressEvent event = events.computeIfAbsent(key, k ->
+                    new GoalProgressEvent(user.getId(), delta.getCategoryId(), delta.getType(), period, BigDecimal.ZERO));
+            event.setAmount(event.getAmount().add(delta.getAmount()));
+        }
+
+        List<GoalProgressEvent> pending = new ArrayList<>();
+        for (GoalProgressEvent event : events.values()) {
+            if (event.getAmount().signum() != 0) {
+                pending.add(event);
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        eventRepository.saveAll(pending);
+
+        Long userId = user.getId();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(userId);
+                }
+            });
+        } else {
+            schedule(userId);
+        }
+    }
+
+    private void schedule(Long userId) {
+        if (scheduledUsers.add(userId)) {
+            partitions[Math.floorMod(userId.hashCode(), partitionCount)].execute(() -> process(userId));
+        }
+    }
+
+    private void process(Long userId) {
+        // Liberar o agendamento antes da leitura: eventos confirmados depois disso agendam nova execução
+        scheduledUsers.remove(userId);
+
+        try {
+            // Mesmo lock das escritas do usuário pela API; em caso de espera esgotada a varredura tenta de novo
+            userWriteSerializer.run(userId, () -> transactionTemplate.executeWithoutResult(status -> {
+                List<GoalProgressEvent> events = eventRepository.lockPendingByUserId(userId);
+                if (events.isEmpty()) {
+                    return;
+                }
+
+                Optional<User> user = userRepository.findById(userId);
+                if (user.isPresent()) {
+                    List<TransactionDelta> deltas = new ArrayList<>(events.size());
+                    for (GoalProgressEvent event : events) {
+                        LocalDateTime period = event.getPeriod() != null ? event.getPeriod().atStartOfDay() : null;
+                        deltas.add(new TransactionDelta(event.getCategoryId(), event.getType(), period, event.getAmount(), 0));
+                    }
+                    goalService.applyGoalProgress(user.get(), deltas);
+                }
+
+                eventRepository.deleteAllInBatch(events);
+            }));
+        } catch (Exception e) {
+            logger.error("Erro ao processar progresso de metas do usuário {}: {}", userId, e.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayPendingEvents() {
+        List<Long> userIds = eventRepository.findPendingUserIds();
+        if (!userIds.isEmpty()) {
+            logger.info("Reprocessando eventos de metas pendentes de {} usuários", userIds.size());
+        }
+        userIds.forEach(this::schedule);
+    }
+
+    @Scheduled(fixedDelayString = "${app.goals.progress.sweep-interval:60000}")
+    public void sweepPendingEvents() {
+        eventRepository.findPendingUserIds().forEach(this::schedule);
+    }
+}
@@ -1,133 +1,383 @@
 package org.example.service;
 
+import org.example.config.ReplicaRoutingPolicy;
+import org.example.dto.GoalUpdateRequest;
+import org.example.dto.GoalViewDto;
+import org.example.dto.TransactionDelta;
 import org.example.entity.Category;
 import org.example.entity.Goal;
 import org.example.entity.Transaction;
 import org.example.entity.User;
+import org.example.exception.BusinessException;
+import org.example.exception.ResourceNotFoundException;
+import org.example.repository.CategoryRepository;
 import org.example.repository.GoalRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.TreeMap;
 
 @Service
 public class GoalService {
 
+    private static final Logger logger = LoggerFactory.getLogger(GoalService.class);
+
+    private static final String SAVINGS_REACHED =
+            "g.type = 'SAVINGS' AND g.current_amount + d.delta >= g.target_amount";
+
+    // Limite de Gastos cujo valor acumulado é de um mês anterior ao informado
+    private static final String LIMIT_PERIOD_ENDED =
+            "g.type = 'EXPENSE_LIMIT' AND (g.period_start IS NULL OR g.period_start < CAST(? AS DATE))";
+
+    private static final String ADD_PROGRESS_SQL =
+            "UPDATE goals g SET current_amount = CASE WHEN " + LIMIT_PERIOD_ENDED +
+            " THEN d.delta ELSE g.current_amount + d.delta END, " +
+            "period_start = CASE WHEN g.type = 'EXPENSE_LIMIT' THEN CAST(? AS DATE) ELSE g.period_start END, " +
+            "status = CASE WHEN " + SAVINGS_REACHED + " THEN 'COMPLETED' ELSE g.status END, " +
+            "completed_at = CASE WHEN " + SAVINGS_REACHED + " THEN now() ELSE g.completed_at END, " +
+            "version = g.version + 1 " +
+            "FROM (VALUES %s) AS d(id, delta) " +
+            "WHERE g.id = d.id AND g.user_id = ? AND g.status = 'ACTIVE' " +
+            "RETURNING g.id, g.status, " +
+            // Limite ultrapassado por este comando: antes <= alvo < depois. Cada cruzamento é
+            // reportado uma única vez, já que a linha é atualizada de forma atômica; no primeiro
+            // delta do mês o valor anterior é zero, então o limite pode ser ultrapassado de novo
+            "(g.type = 'EXPENSE_LIMIT' AND g.current_amount > g.target_amount " +
+            "AND g.current_amount - d.delta <= g.target_amount) AS limit_exceeded";
+
+    private static final String RESET_LIMITS_SQL =
+            "UPDATE goals g SET current_amount = 0, period_start = CAST(? AS DATE), version = g.version + 1 " +
+            "WHERE g.status = 'ACTIVE' AND " + LIMIT_PERIOD_ENDED + " RETURNING g.user_id";
+
     @Autowired
     private GoalRepository goalRepository;
 
+    @Autowired
+    private CategoryRepository categoryRepository;
+
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private ReportCacheService reportCacheService;
+
+    @Autowired
+    private ReplicaRoutingPolicy replicaRoutingPolicy;
+
+    @Autowired
+    private GoalMatchIndex goalMatchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserWriteSerializer userWriteSerializer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     public Goal createGoal(Goal goal) {
-        return goalRepository.save(goal);
+        Long userId = goal.getUser().getId();
+        return userWriteSerializer.execute(userId, () -> transactionTemplate.execute(status -> {
+            goal.setCategory(resolveCategory(goal.getCategory() != null ? goal.getCategory().getId() : null, goal.getUser()));
+            if (goal.getType() == Goal.GoalType.EXPENSE_LIMIT) {
+                goal.setPeriodStart(currentPeriod());
+            }
+            Goal savedGoal = goalRepository.save(goal);
+            goalMatchIndex.invalidate(userId);
+            reportCacheService.invalidateDashboard(userId);
+            return savedGoal;
+        }));
     }
 
+    @Transactional(readOnly = true)
     public List<Goal> getGoalsByUser(User user) {
         return goalRepository.findByUserOrderByCreatedAtDesc(user);
     }
 
+    @Transactional(readOnly = true)
     public List<Goal> getGoalsByUserAndStatus(User user, Goal.GoalStatus status) {
         return goalRepository.findByUserAndStatus(user, status);
     }
 
+    @Transactional(readOnly = true)
     public List<Goal> getGoalsByUserAndType(User user, Goal.GoalType type) {
         return goalRepository.findByUserAndType(user, type);
     }
 
+    @Transactional(readOnly = true)
+    public List<GoalViewDto> getGoalViewsByUser(User user) {
+        return goalRepository.findViewsByUser(user);
+    }
+
+    @Transactional(readOnly = true)
+    public List<GoalViewDto> getGoalViewsByUserAndStatus(User user, Goal.GoalStatus status) {
+        return goalRepository.findViewsByUserAndStatus(user, status);
+    }
+
+    @Transactional(readOnly = true)
+    public List<GoalViewDto> getGoalViewsByUserAndType(User user, Goal.GoalType type) {
+        return goalRepository.findViewsByUserAndType(user, type);
+    }
+
     public Optional<Goal> getGoalById(Long id, User user) {
         return goalRepository.findByIdAndUser(id, user);
     }
 
-    public Goal updateGoal(Goal goal) {
-        return goalRepository.save(goal);
+    /**
+     * Aplica a edição sobre a meta carregada. A versão enviada pelo cliente precisa ser
+     * a atual (o progresso aplicado pelas transações também a incrementa); a versão da
+     * entidade protege o intervalo até o commit.
+     */
+    public Goal updateGoal(Long id, User user, GoalUpdateRequest changes) {
+        return userWriteSerializer.execute(user.getId(), () -> transactionTemplate.execute(status -> {
+            Goal goal = goalRepository.findByIdAndUser(id, user)
+                    .orElseThrow(() -> new ResourceNotFoundException("Meta não encontrada"));
+            if (!changes.getVersion().equals(goal.getVersion())) {
+                throw new ObjectOptimisticLockingFailureException(Goal.class, id);
+            }
+
+            goal.setName(changes.getName());
+            goal.setDescription(changes.getDescription());
+            goal.setTargetAmount(changes.getTargetAmount());
+            if (changes.getCurrentAmount() != null) {
+                goal.setCurrentAmount(changes.getCurrentAmount());
+            }
+            goal.setType(changes.getType());
+            if (changes.getStatus() != null) {
+                goal.setStatus(changes.getStatus());
+            }
+            goal.setStartDate(changes.getStartDate());
+            goal.setTargetDate(changes.getTargetDate());
+            if (changes.getEmailAlerts() != null) {
+                goal.setEmailAlerts(changes.getEmailAlerts());
+            }
+            goal.setCategory(resolveCategory(changes.getCategoryId(), user));
+            // Um valor informado para o limite se refere ao mês corrente
+            if (goal.getType() == Goal.GoalType.EXPENSE_LIMIT
+                    && (changes.getCurrentAmount() != null || goal.getPeriodStart() == null)) {
+                goal.setPeriodStart(currentPeriod());
+            }
+
+            goalMatchIndex.invalidate(user.getId());
+            reportCacheService.invalidateDashboard(user.getId());
+            return goal;
+        }));
     }
 
-    public void deleteGoal(Long id, User user) {
-        Optional<Goal> goal = goalRepository.findByIdAndUser(id, user);
-        if (goal.isPresent()) {
-            Goal g = goal.get();
-            g.setStatus(Goal.GoalStatus.CANCELLED);
-            goalRepository.save(g);
+    // Metas sem categoria valem para qualquer categoria; com categoria, ela precisa ser do usuário
+    private Category resolveCategory(Long categoryId, User user) {
+        if (categoryId == null) {
+            return null;
         }
+        return categoryRepository.findByIdAndUser(categoryId, user)
+                .orElseThrow(() -> new BusinessException("Categoria não encontrada"));
+    }
+
+    public void deleteGoal(Long id, User user) {
+        userWriteSerializer.run(user.getId(), () -> transactionTemplate.executeWithoutResult(status -> {
+            Optional<Goal> goal = goalRepository.findByIdAndUser(id, user);
+            if (goal.isPresent()) {
+                Goal g = goal.get();
+                g.setStatus(Goal.GoalStatus.CANCELLED);
+                goalRepository.save(g);
+                goalMatchIndex.invalidate(user.getId());
+                reportCacheService.invalidateDashboard(user.getId());
+            }
+        }));
     }
 
     public void updateGoalProgress(User user, Category category, BigDecimal amount, Transaction.TransactionType type) {
-        List<Goal> activeGoals = goalRepository.findByUserAndStatus(user, Goal.GoalStatus.ACTIVE);
-
-        for (Goal goal : activeGoals) {
-            if (shouldUpdateGoal(goal, category, type)) {
-                BigDecimal newAmount = goal.getCurrentAmount().add(amount);
-                goal.setCurrentAmount(newAmount);
-
-                // Verificar se a meta foi atingida
-                if (goal.getType() == Goal.GoalType.SAVINGS &&
-                    newAmount.compareTo(goal.getTargetAmount()) >= 0) {
-                    goal.setStatus(Goal.GoalStatus.COMPLETED);
-                    goal.setCompletedAt(LocalDateTime.now());
-
-                    if (goal.getEmailAlerts()) {
-                        emailService.sendGoalCompletedEmail(user, goal);
-                    }
-                }
+        Long categoryId = category != null ? category.getId() : null;
+        applyGoalProgress(user, List.of(new TransactionDelta(categoryId, type, null, amount, 0)));
+    }
 
-                goalRepository.save(goal);
+    public void applyGoalProgress(User user, List<TransactionDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        // Consolidar os deltas por categoria, tipo e mês (do mês corrente ou não) antes de percorrer as metas
+        LocalDate period = currentPeriod();
+        Map<String, TransactionDelta> coalesced = new HashMap<>();
+        for (TransactionDelta delta : deltas) {
+            boolean current = isCurrentPeriod(delta, period);
+            coalesced.merge(delta.getCategoryId() + ":" + delta.getType() + ":" + current, delta,
+                    (a, b) -> new TransactionDelta(a.getCategoryId(), a.getType(), a.getTransactionDate(),
+                            a.getAmount().add(b.getAmount()), a.getCount() + b.getCount()));
+        }
+
+        // Somente as metas que o índice associa aos deltas são atualizadas
+        goalMatchIndex.refresh(user.getId());
+        Map<Long, BigDecimal> amountsByGoal = new TreeMap<>();
+        for (TransactionDelta delta : coalesced.values()) {
+            for (Long goalId : goalMatchIndex.match(user.getId(), delta.getCategoryId(), delta.getType(),
+                    isCurrentPeriod(delta, period))) {
+                amountsByGoal.merge(goalId, delta.getAmount(), BigDecimal::add);
             }
         }
-    }
+        if (amountsByGoal.isEmpty()) {
+            return;
+        }
+
+        ProgressOutcome outcome = addProgress(user.getId(), period, amountsByGoal);
+        // Aplicado fora da requisição: fixa o usuário no primário explicitamente
+        replicaRoutingPolicy.markWrite(user.getId());
 
-    private boolean shouldUpdateGoal(Goal goal, Category category, Transaction.TransactionType type) {
-        if (goal.getCategory() != null && !goal.getCategory().equals(category)) {
-            return false;
+        if (!outcome.completedIds.isEmpty()) {
+            goalMatchIndex.invalidate(user.getId());
+            reportCacheService.invalidateDashboard(user.getId());
+            for (Goal goal : goalRepository.findByIdIn(outcome.completedIds)) {
+                if (goal.getEmailAlerts()) {
+                    emailService.sendGoalCompletedEmail(user, goal);
+                }
+            }
         }
 
-        switch (goal.getType()) {
-            case SAVINGS:
-                return type == Transaction.TransactionType.INCOME;
-            case EXPENSE_LIMIT:
-                return type == Transaction.TransactionType.EXPENSE;
-            case DEBT_PAYMENT:
-                return type == Transaction.TransactionType.EXPENSE;
-            default:
-                return false;
+        if (!outcome.exceededIds.isEmpty()) {
+            for (Goal goal : goalRepository.findByIdIn(outcome.exceededIds)) {
+                logger.info("Limite de gastos da meta {} ultrapassado pelo usuário {}: {} de {}",
+                        goal.getId(), user.getId(), goal.getCurrentAmount(), goal.getTargetAmount());
+                if (goal.getEmailAlerts()) {
+                    String categoryName = goal.getCategory() != null ? goal.getCategory().getName() : goal.getName();
+                    emailService.sendBudgetExceededEmail(user, categoryName, goal.getTargetAmount(), goal.getCurrentAmount());
+                }
+            }
         }
     }
 
+    /**
+     * Soma os deltas às metas ativas em um único UPDATE, sem ler os valores antes,
+     * e devolve as metas de poupança que atingiram o alvo e os limites de gastos
+     * ultrapassados nesse mesmo comando. Limites acumulados em um mês anterior a
+     * {@code period} recomeçam do delta.
+     */
+    private ProgressOutcome addProgress(Long userId, LocalDate period, Map<Long, BigDecimal> amountsByGoal) {
+        StringJoiner values = new StringJoiner(", ");
+        List<Object> args = new ArrayList<>(amountsByGoal.size() * 2 + 3);
+        args.add(period);
+        args.add(period);
+        amountsByGoal.forEach((goalId, amount) -> {
+            values.add("(CAST(? AS BIGINT), CAST(? AS NUMERIC))");
+            args.add(goalId);
+            args.add(amount);
+        });
+        args.add(userId);
+
+        ProgressOutcome outcome = new ProgressOutcome();
+        jdbcTemplate.query(String.format(ADD_PROGRESS_SQL, values), rs -> {
+            if (Goal.GoalStatus.COMPLETED.name().equals(rs.getString("status"))) {
+                outcome.completedIds.add(rs.getLong("id"));
+            }
+            if (rs.getBoolean("limit_exceeded")) {
+                outcome.exceededIds.add(rs.getLong("id"));
+            }
+        }, args.toArray());
+        return outcome;
+    }
+
+    /**
+     * Zera os limites de gastos ativos que ainda acumulam um mês anterior. A aplicação
+     * de progresso já recomeça o limite no primeiro delta do mês; isto cobre os
+     * usuários sem despesas no mês novo, para que a leitura não mostre o mês passado.
+     */
+    public int resetExpiredLimitPeriods() {
+        LocalDate period = currentPeriod();
+        List<Long> userIds = transactionTemplate.execute(status ->
+                jdbcTemplate.queryForList(RESET_LIMITS_SQL, Long.class, period, period));
+        userIds.stream().distinct().forEach(reportCacheService::invalidateDashboard);
+        return userIds.size();
+    }
+
+    private static LocalDate currentPeriod() {
+        return YearMonth.now().atDay(1);
+    }
+
+    // Deltas sem data (ajustes diretos) contam no mês corrente
+    private static boolean isCurrentPeriod(TransactionDelta delta, LocalDate period) {
+        return delta.getTransactionDate() == null
+                || YearMonth.from(delta.getTransactionDate()).atDay(1).equals(period);
+    }
+
+    @Transactional(readOnly = true)
     public List<Goal> getOverdueGoals(User user) {
         return goalRepository.findOverdueGoals(user, LocalDateTime.now());
     }
 
-    public void checkGoalDeadlines() {
-        List<Goal> goalsWithAlerts = goalRepository.findGoalsWithEmailAlerts(null);
+    @Transactional(readOnly = true)
+    public List<GoalViewDto> getOverdueGoalViews(User user) {
+        return goalRepository.findOverdueViews(user, LocalDateTime.now());
+    }
+
+    public List<Long> findOverdueAlertGoalIds(Long afterId, int limit) {
+        return goalRepository.findOverdueAlertGoalIdsAfter(afterId, LocalDateTime.now(), PageRequest.of(0, limit));
+    }
 
-        for (Goal goal : goalsWithAlerts) {
+    public List<Long> findAlertGoalIds(Long afterId, int limit) {
+        return goalRepository.findAlertGoalIdsAfter(afterId, PageRequest.of(0, limit));
+    }
+
+    // Processa um bloco do job de metas vencidas; os e-mails entram no outbox na mesma transação
+    @Transactional
+    public int notifyOverdueGoals(List<Long> goalIds) {
+        int notified = 0;
+        for (Goal goal : goalRepository.findByIdIn(goalIds)) {
             if (goal.isOverdue() && goal.getEmailAlerts()) {
                 emailService.sendGoalOverdueEmail(goal.getUser(), goal);
+                notified++;
             }
         }
+        return notified;
     }
 
-    public void sendGoalProgressAlerts() {
-        List<Goal> activeGoals = goalRepository.findByUserAndStatus(null, Goal.GoalStatus.ACTIVE);
+    @Transactional
+    public int sendGoalProgressAlerts(List<Long> goalIds) {
+        int notified = 0;
+        for (Goal goal : goalRepository.findByIdIn(goalIds)) {
+            if (goal.getStatus() != Goal.GoalStatus.ACTIVE || !goal.getEmailAlerts()) {
+                continue;
+            }
+            double progress = goal.getProgressPercentage();
 
-        for (Goal goal : activeGoals) {
-            if (goal.getEmailAlerts()) {
-                double progress = goal.getProgressPercentage();
+            // Enviar alertas em marcos específicos (25%, 50%, 75%, 90%)
+            int milestone = 0;
+            if (progress >= 25 && progress < 30) {
+                milestone = 25;
+            } else if (progress >= 50 && progress < 55) {
+                milestone = 50;
+            } else if (progress >= 75 && progress < 80) {
+                milestone = 75;
+            } else if (progress >= 90 && progress < 95) {
+                milestone = 90;
+            }
 
-                // Enviar alertas em marcos específicos (25%, 50%, 75%, 90%)
-                if (progress >= 25 && progress < 30) {
-                    emailService.sendGoalProgressEmail(goal.getUser(), goal, 25);
-                } else if (progress >= 50 && progress < 55) {
-                    emailService.sendGoalProgressEmail(goal.getUser(), goal, 50);
-                } else if (progress >= 75 && progress < 80) {
-                    emailService.sendGoalProgressEmail(goal.getUser(), goal, 75);
-                } else if (progress >= 90 && progress < 95) {
-                    emailService.sendGoalProgressEmail(goal.getUser(), goal, 90);
-                }
+            if (milestone > 0) {
+                emailService.sendGoalProgressEmail(goal.getUser(), goal, milestone);
+                notified++;
             }
         }
+        return notified;
+    }
+
+    private static class ProgressOutcome {
+        private final List<Long> completedIds = new ArrayList<>();
+        private final List<Long> exceededIds = new ArrayList<>();
     }
 }
@@ -0,0 +1,119 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.example.dto.MonthlyReportDto;
+import org.example.repository.MonthlyReportSnapshotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Relatórios mensais congelados dos meses já fechados. Uma escrita retroativa
+ * marca o snapshot do mês como desatualizado e incrementa sua versão; ele é
+ * regenerado na próxima leitura. A regeneração lê a versão antes do relatório e
+ * só grava se ela não mudou, então um relatório calculado antes de uma escrita
+ * concorrente nunca é gravado como atualizado.
+ */
+@Service
+public class MonthlyReportSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlyReportSnapshotService.class);
+
+    @Autowired
+    private MonthlyReportSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate requiresNewTemplate;
+
+    @PostConstruct
+    public void init() {
+        requiresNewTemplate = new TransactionTemplate(transactionManager);
+        requiresNewTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public static boolean isClosed(int period) {
+        return period < CategoryRollupService.periodOf(LocalDateTime.now());
+    }
+
+    public Optional<MonthlyReportDto> find(Long userId, int period) {
+        return snapshotRepository.findFreshPayload(userId, period).flatMap(payload -> {
+            try {
+                return Optional.of(decode(payload));
+            } catch (IOException e) {
+                // Formato antigo ou corrompido: o relatório é recalculado e o snapshot substituído
+                logger.warn("Snapshot {} do usuário {} ilegível: {}", period, userId, e.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
+
+    /**
+     * Início de uma regeneração: garante a linha do mês, confirmada em transação
+     * própria para que as escritas concorrentes a encontrem e a marquem, e devolve
+     * a versão a ser informada em {@link #store}. Deve ser chamado antes de ler o relatório.
+     */
+    public long beginRegeneration(Long userId, int period) {
+        requiresNewTemplate.executeWithoutResult(status -> snapshotRepository.insertPlaceholder(userId, period));
+        return snapshotRepository.findVersion(userId, period).orElse(0L);
+    }
+
+    // Devolve false quando uma escrita marcou o mês depois de beginRegeneration; o snapshot fica desatualizado
+    public boolean store(Long userId, int period, long version, MonthlyReportDto report) {
+        boolean stored = snapshotRepository.storeIfUnchanged(userId, period, version, encode(report)) > 0;
+        if (!stored) {
+            logger.debug("Snapshot {} do usuário {} alterado durante a regeneração; não gravado", period, userId);
+        }
+        return stored;
+    }
+
+    // Só meses fechados têm snapshot; escritas no mês corrente não geram consulta
+    public void markStale(Long userId, Collection<Integer> periods) {
+        List<Integer> closed = periods.stream().filter(MonthlyReportSnapshotService::isClosed).toList();
+        if (!closed.isEmpty()) {
+            snapshotRepository.markStale(userId, closed);
+        }
+    }
+
+    public void markAllStale(Long userId) {
+        snapshotRepository.markAllStale(userId);
+    }
+
+    private byte[] encode(MonthlyReportDto report) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(buffer)) {
+            objectMapper.writeValue(out, report);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    private MonthlyReportDto decode(byte[] payload) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+            return objectMapper.readValue(in, MonthlyReportDto.class);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.example.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Cache dos usuários autenticados por username, usado pelo filtro JWT para
+ * não consultar o banco a cada requisição. Alterações na conta invalidam a
+ * entrada; o TTL limita por quanto tempo um estado antigo pode ser visto.
+ */
+@Service
+public class PrincipalCacheService {
+
+    @Value("${app.cache.principals.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.cache.principals.ttl:5m}")
+    private Duration ttl;
+
+    private Cache<String, User> principals;
+
+    @PostConstruct
+    public void init() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public User getPrincipal(String username, Supplier<User> loader) {
+        return principals.get(username, key -> loader.get());
+    }
+
+    public void invalidate(String username) {
+        principals.invalidate(username);
+    }
+
+    // O username pode ter mudado, então a busca é pelo id
+    public void invalidateUser(Long userId) {
+        principals.asMap().values().removeIf(user -> userId.equals(user.getId()));
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = principals.stats();
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("size", principals.estimatedSize());
+        values.put("hits", stats.hitCount());
+        values.put("misses", stats.missCount());
+        values.put("hitRate", stats.hitRate());
+        values.put("evictions", stats.evictionCount());
+        return values;
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.example.dto.DashboardDto;
+import org.example.dto.MonthlyReportDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória do dashboard e dos relatórios mensais por usuário.
+ * Escritas invalidam apenas as entradas afetadas; a invalidação é repetida
+ * após o commit para que uma leitura concorrente não recoloque dados antigos.
+ */
+@Service
+public class ReportCacheService {
+
+    @Value("${app.cache.reports.max-size:10000}")
+    private long maxSize;
+
+    @Value("${app.cache.reports.ttl:10m}")
+    private Duration ttl;
+
+    private Cache<Long, DashboardDto> dashboards;
+
+    private Cache<String, MonthlyReportDto> monthlyReports;
+
+    @PostConstruct
+    public void init() {
+        dashboards = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        monthlyReports = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public DashboardDto getDashboard(Long userId, Supplier<DashboardDto> loader) {
+        return dashboards.get(userId, key -> loader.get());
+    }
+
+    public MonthlyReportDto getMonthlyReport(Long userId, int period, Supplier<MonthlyReportDto> loader) {
+        return monthlyReports.get(monthlyKey(userId, period), key -> loader.get());
+    }
+
+    public void invalidateDashboard(Long userId) {
+        invalidate(() -> dashboards.invalidate(userId));
+    }
+
+    public void invalidatePeriods(Long userId, Collection<Integer> periods) {
+        invalidate(() -> {
+            dashboards.invalidate(userId);
+            for (Integer period : periods) {
+                monthlyReports.invalidate(monthlyKey(userId, period));
+            }
+        });
+    }
+
+    public void invalidateUser(Long userId) {
+        String prefix = userId + ":";
+        invalidate(() -> {
+            dashboards.invalidate(userId);
+            monthlyReports.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("dashboard", describe(dashboards));
+        stats.put("monthlyReport", describe(monthlyReports));
+        return stats;
+    }
+
+    private Map<String, Object> describe(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("size", cache.estimatedSize());
+        values.put("hits", stats.hitCount());
+        values.put("misses", stats.missCount());
+        values.put("hitRate", stats.hitRate());
+        values.put("evictions", stats.evictionCount());
+        return values;
+    }
+
+    private void invalidate(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private String monthlyKey(Long userId, int period) {
+        return userId + ":" + period;
+    }
+}
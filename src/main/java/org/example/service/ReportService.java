@@ -3,69 +3,160 @@ package org.example.service;
 import org.example.dto.DashboardDto;
 import org.example.dto.MonthlyReportDto;
 import org.example.dto.CategorySummaryDto;
+import org.example.dto.DashboardSummary;
+import org.example.dto.TransactionViewDto;
+import org.example.dto.YearlyComparisonDto;
 import org.example.entity.Transaction;
 import org.example.entity.User;
+import org.example.exception.BusinessException;
+import org.example.repository.UserBalanceRepository;
+import org.example.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.time.temporal.TemporalAdjusters;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
 public class ReportService {
 
+    private static final int MAX_COMPARISON_YEARS = 10;
+
+    private static final int RECENT_TRANSACTIONS = 10;
+
     @Autowired
     private TransactionService transactionService;
 
     @Autowired
-    private GoalService goalService;
+    private BalanceLedgerService balanceLedgerService;
+
+    @Autowired
+    private CategoryRollupService categoryRollupService;
+
+    @Autowired
+    private UserBalanceRepository userBalanceRepository;
+
+    @Autowired
+    private ReportCacheService reportCacheService;
+
+    @Autowired
+    private MonthlyReportSnapshotService monthlyReportSnapshotService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private TransactionTemplate readOnlyTemplate;
 
+    @PostConstruct
+    public void init() {
+        readOnlyTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate.setReadOnly(true);
+    }
+
+    // Acertos no cache não abrem transação nem tocam o banco
     public DashboardDto getDashboardData(User user) {
-        BigDecimal totalIncome = transactionService.getTotalIncomeByUser(user);
-        BigDecimal totalExpense = transactionService.getTotalExpenseByUser(user);
-        BigDecimal balance = totalIncome.subtract(totalExpense);
+        return reportCacheService.getDashboard(user.getId(), () -> {
+            DashboardDto dashboard = readOnlyTemplate.execute(status -> loadDashboardData(user));
+            if (dashboard == null) {
+                // Ledger ainda não inicializado; após a inicialização o usuário lê do primário
+                balanceLedgerService.ensureInitialized(user);
+                dashboard = readOnlyTemplate.execute(status -> loadDashboardData(user));
+            }
+            return dashboard;
+        });
+    }
 
-        // Dados do mês atual
-        LocalDateTime startOfMonth = LocalDateTime.now().with(TemporalAdjusters.firstDayOfMonth()).withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime endOfMonth = LocalDateTime.now().with(TemporalAdjusters.lastDayOfMonth()).withHour(23).withMinute(59).withSecond(59);
+    public MonthlyReportDto getMonthlyReport(User user, int year, int month) {
+        int period = CategoryRollupService.periodOf(year, month);
+        return reportCacheService.getMonthlyReport(user.getId(), period, () -> {
+            if (!MonthlyReportSnapshotService.isClosed(period)) {
+                return readOnlyTemplate.execute(status -> loadMonthlyReport(user, year, month));
+            }
+            // Mês fechado: uma leitura por chave; sem snapshot válido, recalcula no primário e grava
+            // somente se nenhuma escrita retroativa marcou o mês durante o cálculo
+            return readOnlyTemplate.execute(status -> monthlyReportSnapshotService.find(user.getId(), period))
+                    .orElseGet(() -> transactionTemplate.execute(status -> {
+                        long version = monthlyReportSnapshotService.beginRegeneration(user.getId(), period);
+                        MonthlyReportDto report = loadMonthlyReport(user, year, month);
+                        monthlyReportSnapshotService.store(user.getId(), period, version, report);
+                        return report;
+                    }));
+        });
+    }
 
-        BigDecimal monthlyIncome = transactionService.getIncomeByPeriod(user, startOfMonth, endOfMonth);
-        BigDecimal monthlyExpense = transactionService.getExpenseByPeriod(user, startOfMonth, endOfMonth);
+    public List<Long> findUserIds(Long afterId, int limit) {
+        return userRepository.findIdsAfter(afterId, PageRequest.of(0, limit));
+    }
 
-        // Transações recentes
-        List<Transaction> recentTransactions = transactionService.getTransactionsByUser(user)
-                .stream()
-                .limit(10)
-                .collect(Collectors.toList());
+    // Processa um bloco do job mensal; cada usuário ganha o snapshot do mês informado
+    @Transactional
+    public int generateMonthlySnapshots(List<Long> userIds, YearMonth month) {
+        int period = CategoryRollupService.periodOf(month.getYear(), month.getMonthValue());
+        for (Long userId : userIds) {
+            User user = userRepository.getReferenceById(userId);
+            long version = monthlyReportSnapshotService.beginRegeneration(userId, period);
+            MonthlyReportDto report = loadMonthlyReport(user, month.getYear(), month.getMonthValue());
+            monthlyReportSnapshotService.store(userId, period, version, report);
+        }
+        return userIds.size();
+    }
 
-        // Metas ativas
-        int activeGoals = goalService.getGoalsByUserAndStatus(user, org.example.entity.Goal.GoalStatus.ACTIVE).size();
+    private DashboardDto loadDashboardData(User user) {
+        int currentPeriod = CategoryRollupService.periodOf(LocalDateTime.now());
+
+        // Totais, valores do mês atual e metas ativas em uma única consulta
+        DashboardSummary summary = userBalanceRepository.findDashboardSummary(user.getId(), currentPeriod)
+                .orElse(null);
+        if (summary == null) {
+            return null;
+        }
+
+        // Transações recentes
+        List<TransactionViewDto> recentTransactions = transactionService.getRecentTransactionViews(user, RECENT_TRANSACTIONS);
 
         return DashboardDto.builder()
-                .totalIncome(totalIncome)
-                .totalExpense(totalExpense)
-                .balance(balance)
-                .monthlyIncome(monthlyIncome)
-                .monthlyExpense(monthlyExpense)
+                .totalIncome(summary.getTotalIncome())
+                .totalExpense(summary.getTotalExpense())
+                .balance(summary.getTotalIncome().subtract(summary.getTotalExpense()))
+                .monthlyIncome(summary.getMonthlyIncome())
+                .monthlyExpense(summary.getMonthlyExpense())
                 .recentTransactions(recentTransactions)
-                .activeGoalsCount(activeGoals)
+                .activeGoalsCount(summary.getActiveGoals().intValue())
                 .build();
     }
 
-    public MonthlyReportDto getMonthlyReport(User user, int year, int month) {
+    private MonthlyReportDto loadMonthlyReport(User user, int year, int month) {
         LocalDateTime startDate = LocalDateTime.of(year, month, 1, 0, 0);
         LocalDateTime endDate = startDate.with(TemporalAdjusters.lastDayOfMonth()).withHour(23).withMinute(59).withSecond(59);
 
-        List<Transaction> transactions = transactionService.getTransactionsByUserAndDateRange(user, startDate, endDate);
+        List<TransactionViewDto> transactions = transactionService.getTransactionViewsByUserAndDateRange(user, startDate, endDate);
 
-        BigDecimal totalIncome = transactionService.getIncomeByPeriod(user, startDate, endDate);
-        BigDecimal totalExpense = transactionService.getExpenseByPeriod(user, startDate, endDate);
+        // Garante que os rollups do usuário foram inicializados antes de lê-los
+        balanceLedgerService.getBalance(user);
+        Map<Transaction.TransactionType, List<CategorySummaryDto>> summary =
+                categoryRollupService.getCategorySummary(user, year, month);
 
-        List<CategorySummaryDto> incomeByCategory = getCategorySummary(user, Transaction.TransactionType.INCOME, startDate, endDate);
-        List<CategorySummaryDto> expenseByCategory = getCategorySummary(user, Transaction.TransactionType.EXPENSE, startDate, endDate);
+        List<CategorySummaryDto> incomeByCategory = summary.get(Transaction.TransactionType.INCOME);
+        List<CategorySummaryDto> expenseByCategory = summary.get(Transaction.TransactionType.EXPENSE);
+        BigDecimal totalIncome = sumAmounts(incomeByCategory);
+        BigDecimal totalExpense = sumAmounts(expenseByCategory);
 
         return MonthlyReportDto.builder()
                 .year(year)
@@ -79,6 +170,12 @@ public class ReportService {
                 .build();
     }
 
+    private BigDecimal sumAmounts(List<CategorySummaryDto> items) {
+        return items.stream()
+                .map(CategorySummaryDto::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
     public List<CategorySummaryDto> getCategorySummary(User user, Transaction.TransactionType type,
                                                      LocalDateTime startDate, LocalDateTime endDate) {
         List<Object[]> results = transactionService.getCategorySummary(user, type, startDate, endDate);
@@ -91,7 +188,19 @@ public class ReportService {
                 .collect(Collectors.toList());
     }
 
-    public List<Object[]> getYearlyComparison(User user, int year) {
-        return transactionService.getMonthlySummary(user, Transaction.TransactionType.EXPENSE);
+    public List<YearlyComparisonDto> getYearlyComparison(User user, List<Integer> years) {
+        TreeSet<Integer> distinctYears = new TreeSet<>(years);
+        if (distinctYears.isEmpty() || distinctYears.size() > MAX_COMPARISON_YEARS) {
+            throw new BusinessException("Informe entre 1 e " + MAX_COMPARISON_YEARS + " anos para comparação");
+        }
+        if (distinctYears.first() < 1900 || distinctYears.last() > 9999) {
+            throw new BusinessException("Ano inválido para comparação");
+        }
+
+        return readOnlyTemplate.execute(status -> {
+            // Garante que os rollups do usuário foram inicializados antes de lê-los
+            balanceLedgerService.getBalance(user);
+            return categoryRollupService.getYearlyComparison(user, distinctYears);
+        });
     }
 }
@@ -1,36 +1,73 @@
 package org.example.service;
 
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.YearMonth;
+
 @Service
 public class ScheduledTaskService {
 
     private static final Logger logger = LoggerFactory.getLogger(ScheduledTaskService.class);
 
+    public static final String GOAL_DEADLINE_JOB = "goal-deadline-check";
+
+    public static final String GOAL_PROGRESS_JOB = "goal-progress-alerts";
+
+    public static final String MONTHLY_REPORT_JOB = "monthly-report-snapshots";
+
     @Autowired
     private GoalService goalService;
 
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ChunkedJobRunner chunkedJobRunner;
+
+    @PostConstruct
+    public void registerJobs() {
+        chunkedJobRunner.register(GOAL_DEADLINE_JOB, goalService::findOverdueAlertGoalIds, goalService::notifyOverdueGoals);
+        chunkedJobRunner.register(GOAL_PROGRESS_JOB, goalService::findAlertGoalIds, goalService::sendGoalProgressAlerts);
+        // O mês fechado é o anterior ao atual; uma retomada acontece no mesmo dia do disparo
+        chunkedJobRunner.register(MONTHLY_REPORT_JOB, reportService::findUserIds,
+                userIds -> reportService.generateMonthlySnapshots(userIds, YearMonth.now().minusMonths(1)));
+    }
+
     @Scheduled(cron = "0 0 9 * * *")
     public void checkGoalDeadlines() {
         logger.info("Iniciando verificação de metas vencidas");
-        goalService.checkGoalDeadlines();
-        logger.info("Verificação de metas vencidas concluída");
+        chunkedJobRunner.run(GOAL_DEADLINE_JOB)
+                .ifPresent(run -> logger.info("Verificação de metas vencidas concluída: {} alertas para {} metas",
+                        run.getItemsAffected(), run.getItemsProcessed()));
     }
 
     @Scheduled(cron = "0 0 8 * * MON")
     public void sendWeeklyProgressReports() {
         logger.info("Enviando relatórios semanais de progresso");
-        goalService.sendGoalProgressAlerts();
-        logger.info("Relatórios semanais enviados");
+        chunkedJobRunner.run(GOAL_PROGRESS_JOB)
+                .ifPresent(run -> logger.info("Relatórios semanais enviados: {} alertas para {} metas",
+                        run.getItemsAffected(), run.getItemsProcessed()));
+    }
+
+    // Diário e idempotente: só altera limites que ainda acumulam um mês anterior
+    @Scheduled(cron = "0 5 0 * * *")
+    public void resetExpenseLimits() {
+        int reset = goalService.resetExpiredLimitPeriods();
+        if (reset > 0) {
+            logger.info("Limites de gastos reiniciados para o mês {}: {} metas", YearMonth.now(), reset);
+        }
     }
 
     @Scheduled(cron = "0 0 10 1 * *")
     public void generateMonthlyReports() {
-        logger.info("Gerando relatórios mensais automáticos");
-        logger.info("Relatórios mensais gerados com sucesso");
+        YearMonth closedMonth = YearMonth.now().minusMonths(1);
+        logger.info("Gerando snapshots dos relatórios de {}", closedMonth);
+        chunkedJobRunner.run(MONTHLY_REPORT_JOB)
+                .ifPresent(run -> logger.info("Snapshots de {} gerados para {} usuários", closedMonth, run.getItemsProcessed()));
     }
 }
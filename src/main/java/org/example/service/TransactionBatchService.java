@@ -0,0 +1,185 @@
+package org.example.service;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.example.dto.TransactionBatchRequest;
+import org.example.dto.TransactionBatchResultDto;
+import org.example.dto.TransactionBatchResultDto.ItemResult;
+import org.example.dto.TransactionBatchResultDto.ItemStatus;
+import org.example.dto.TransactionDelta;
+import org.example.entity.Category;
+import org.example.entity.Transaction;
+import org.example.entity.User;
+import org.example.repository.CategoryRepository;
+import org.example.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class TransactionBatchService {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private UserWriteSerializer userWriteSerializer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // O lote inteiro roda sob o lock de escrita do usuário, fora da transação
+    public TransactionBatchResultDto applyBatch(User user, List<TransactionBatchRequest.Item> items) {
+        return userWriteSerializer.execute(user.getId(),
+                () -> transactionTemplate.execute(status -> applyBatchInTransaction(user, items)));
+    }
+
+    private TransactionBatchResultDto applyBatchInTransaction(User user, List<TransactionBatchRequest.Item> items) {
+        Set<Long> ids = items.stream()
+                .filter(item -> item.getOperation() != TransactionBatchRequest.OperationType.CREATE && item.getId() != null)
+                .map(TransactionBatchRequest.Item::getId)
+                .collect(Collectors.toSet());
+
+        // Uma consulta para as transações existentes e outra para as categorias do usuário
+        Map<Long, Transaction> existing = ids.isEmpty() ? Map.of() : transactionRepository.findByUserAndIdIn(user, ids)
+                .stream()
+                .collect(Collectors.toMap(Transaction::getId, t -> t));
+        Map<Long, Category> categories = categoryRepository.findByUser(user)
+                .stream()
+                .collect(Collectors.toMap(Category::getId, c -> c));
+
+        List<ItemResult> results = new ArrayList<>(items.size());
+        Set<Long> touched = new HashSet<>();
+        boolean valid = true;
+
+        for (int i = 0; i < items.size(); i++) {
+            TransactionBatchRequest.Item item = items.get(i);
+            ItemResult result = validateItem(i, item, existing, categories, touched);
+            valid &= result.getStatus() == ItemStatus.OK;
+            results.add(result);
+        }
+
+        if (!valid) {
+            for (ItemResult result : results) {
+                if (result.getStatus() == ItemStatus.OK) {
+                    result.setStatus(ItemStatus.NOT_APPLIED);
+                }
+            }
+            return new TransactionBatchResultDto(false, 0, 0, 0, results);
+        }
+
+        List<TransactionDelta> deltas = new ArrayList<>();
+        Map<Integer, Transaction> created = new HashMap<>();
+        List<Transaction> deleted = new ArrayList<>();
+        int updated = 0;
+
+        for (int i = 0; i < items.size(); i++) {
+            TransactionBatchRequest.Item item = items.get(i);
+            Transaction data = item.getTransaction();
+
+            switch (item.getOperation()) {
+                case CREATE:
+                    data.setId(null);
+                    data.setUser(user);
+                    data.setCategory(categories.get(data.getCategory().getId()));
+                    created.put(i, data);
+                    break;
+                case UPDATE:
+                    Transaction current = existing.get(item.getId());
+                    deltas.add(TransactionDelta.reversalOf(current));
+                    current.setDescription(data.getDescription());
+                    current.setAmount(data.getAmount());
+                    current.setType(data.getType());
+                    current.setTransactionDate(data.getTransactionDate());
+                    current.setNotes(data.getNotes());
+                    current.setCategory(categories.get(data.getCategory().getId()));
+                    deltas.add(TransactionDelta.of(current));
+                    updated++;
+                    break;
+                case DELETE:
+                    Transaction removed = existing.get(item.getId());
+                    deltas.add(TransactionDelta.reversalOf(removed));
+                    deleted.add(removed);
+                    break;
+            }
+        }
+
+        transactionRepository.saveAll(created.values());
+        created.forEach((index, transaction) -> {
+            deltas.add(TransactionDelta.of(transaction));
+            results.get(index).setId(transaction.getId());
+        });
+
+        if (!deleted.isEmpty()) {
+            transactionRepository.deleteAllInBatch(deleted);
+        }
+
+        // Efeitos sobre metas e agregados aplicados uma única vez para o lote inteiro
+        transactionService.applyDeltas(user, deltas);
+
+        return new TransactionBatchResultDto(true, created.size(), updated, deleted.size(), results);
+    }
+
+    private ItemResult validateItem(int index, TransactionBatchRequest.Item item, Map<Long, Transaction> existing,
+                                    Map<Long, Category> categories, Set<Long> touched) {
+        TransactionBatchRequest.OperationType operation = item.getOperation();
+        if (operation == null) {
+            return new ItemResult(index, null, item.getId(), ItemStatus.INVALID, "Operação é obrigatória");
+        }
+
+        if (operation != TransactionBatchRequest.OperationType.CREATE) {
+            if (item.getId() == null) {
+                return new ItemResult(index, operation, null, ItemStatus.INVALID, "ID é obrigatório");
+            }
+            if (!existing.containsKey(item.getId())) {
+                return new ItemResult(index, operation, item.getId(), ItemStatus.NOT_FOUND, "Transação não encontrada");
+            }
+            if (!touched.add(item.getId())) {
+                return new ItemResult(index, operation, item.getId(), ItemStatus.INVALID,
+                        "Transação alterada mais de uma vez no mesmo lote");
+            }
+        }
+
+        if (operation != TransactionBatchRequest.OperationType.DELETE) {
+            Transaction data = item.getTransaction();
+            if (data == null) {
+                return new ItemResult(index, operation, item.getId(), ItemStatus.INVALID, "Dados da transação são obrigatórios");
+            }
+
+            Set<ConstraintViolation<Transaction>> violations = validator.validate(data);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                return new ItemResult(index, operation, item.getId(), ItemStatus.INVALID, message);
+            }
+
+            if (data.getType() == null || data.getTransactionDate() == null) {
+                return new ItemResult(index, operation, item.getId(), ItemStatus.INVALID, "Tipo e data são obrigatórios");
+            }
+            if (data.getCategory() == null || !categories.containsKey(data.getCategory().getId())) {
+                return new ItemResult(index, operation, item.getId(), ItemStatus.INVALID, "Categoria inválida");
+            }
+        }
+
+        return new ItemResult(index, operation, item.getId(), ItemStatus.OK, null);
+    }
+}
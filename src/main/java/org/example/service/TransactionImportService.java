@@ -0,0 +1,478 @@
+package org.example.service;
+
+import org.example.dto.ImportResultDto;
+import org.example.dto.TransactionDelta;
+import org.example.entity.Category;
+import org.example.entity.Transaction;
+import org.example.entity.User;
+import org.example.exception.BusinessException;
+import org.example.exception.ConcurrentWriteException;
+import org.example.repository.CategoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+public class TransactionImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionImportService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO transactions (description, amount, type, transaction_date, created_at, notes, user_id, category_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int MAX_REPORTED_ERRORS = 50;
+    private static final String DEFAULT_INCOME_CATEGORY = "Outras receitas";
+    private static final String DEFAULT_EXPENSE_CATEGORY = "Outras despesas";
+    private static final DateTimeFormatter BR_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter OFX_DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter OFX_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserWriteSerializer userWriteSerializer;
+
+    @Value("${app.import.batch-size:1000}")
+    private int batchSize;
+
+    public ImportResultDto importTransactions(User user, InputStream input, ImportFormat format) throws IOException {
+        long start = System.nanoTime();
+        ImportContext context = new ImportContext(user);
+        Exception failure = null;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            if (format == ImportFormat.OFX) {
+                parseOfx(reader, context);
+            } else {
+                parseCsv(reader, context);
+            }
+            context.flush();
+        } catch (IOException | RuntimeException e) {
+            // Falha antes da primeira linha (cabeçalho, arquivo vazio): nada foi gravado
+            if (context.resumeLine == 0) {
+                throw e;
+            }
+            // Os lotes anteriores já foram confirmados, inclusive quando a leitura do arquivo é
+            // interrompida no meio; o cliente retoma a partir da linha que falhou
+            failure = e;
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        double rowsPerSecond = seconds > 0 ? context.imported / seconds : context.imported;
+
+        ImportResultDto.Builder result = ImportResultDto.builder()
+                .format(format.name())
+                .totalRows(context.imported + context.skipped)
+                .importedRows(context.imported)
+                .skippedRows(context.skipped)
+                .batches(context.batches)
+                .categoriesCreated(context.categoriesCreated)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(rowsPerSecond)
+                .errors(context.errors);
+
+        if (failure != null) {
+            long failedLine = context.failedLine();
+            logger.warn("Importação {} interrompida para {} na linha {}: {} linhas já importadas ({})",
+                    format, user.getUsername(), failedLine, context.imported, failure.getMessage());
+            return result.completed(false)
+                    .failedLine(failedLine)
+                    .failureReason(failure.getMessage())
+                    .retryable(failure instanceof ConcurrentWriteException)
+                    .build();
+        }
+
+        logger.info("Importação {} concluída para {}: {} linhas importadas, {} ignoradas em {} ms ({} linhas/s)",
+                format, user.getUsername(), context.imported, context.skipped,
+                elapsedNanos / 1_000_000, Math.round(rowsPerSecond));
+
+        return result.completed(true).build();
+    }
+
+    private void parseCsv(BufferedReader reader, ImportContext context) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new BusinessException("Arquivo CSV vazio");
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+
+        char delimiter = count(header, ';') > count(header, ',') ? ';' : ',';
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> headerFields = splitCsvLine(header, delimiter);
+        for (int i = 0; i < headerFields.size(); i++) {
+            columns.put(headerFields.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        if (!columns.containsKey("date") || !columns.containsKey("description") || !columns.containsKey("amount")) {
+            throw new BusinessException("Cabeçalho CSV deve conter as colunas date, description e amount");
+        }
+
+        String line;
+        long lineNumber = 1;
+        context.resumeLine = 2;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            try {
+                List<String> fields = splitCsvLine(line, delimiter);
+                BigDecimal amount = parseAmount(field(fields, columns, "amount"));
+                String typeValue = field(fields, columns, "type");
+                Transaction.TransactionType type = typeValue != null && !typeValue.isBlank()
+                        ? Transaction.TransactionType.valueOf(typeValue.trim().toUpperCase(Locale.ROOT))
+                        : (amount.signum() < 0 ? Transaction.TransactionType.EXPENSE : Transaction.TransactionType.INCOME);
+
+                context.accept(lineNumber, new ImportRow(
+                        field(fields, columns, "description"),
+                        amount.abs(),
+                        type,
+                        parseDate(field(fields, columns, "date")),
+                        field(fields, columns, "category"),
+                        field(fields, columns, "notes")));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                context.reject(lineNumber, e.getMessage());
+            }
+            context.resumeLine = lineNumber + 1;
+        }
+    }
+
+    private void parseOfx(Reader reader, ImportContext context) throws IOException {
+        Map<String, String> current = null;
+        long line = 1;
+        long transactionLine = 0;
+        StringBuilder tag = new StringBuilder();
+        StringBuilder value = new StringBuilder();
+        String openTag = null;
+        int c;
+
+        // Leitura incremental das tags SGML/XML: cada <STMTTRN> vira uma linha importada
+        while ((c = reader.read()) != -1) {
+            if (c == '\n') {
+                line++;
+            }
+            if (c != '<') {
+                if (openTag != null) {
+                    value.append((char) c);
+                }
+                continue;
+            }
+
+            if (openTag != null && current != null) {
+                String text = value.toString().trim();
+                if (!text.isEmpty()) {
+                    current.put(openTag, text);
+                }
+            }
+            openTag = null;
+            value.setLength(0);
+
+            tag.setLength(0);
+            while ((c = reader.read()) != -1 && c != '>') {
+                if (c == '\n') {
+                    line++;
+                }
+                tag.append((char) c);
+            }
+            String name = tag.toString().trim().toUpperCase(Locale.ROOT);
+
+            if (name.equals("STMTTRN")) {
+                current = new HashMap<>();
+                transactionLine = line;
+                context.resumeLine = line;
+            } else if (name.equals("/STMTTRN") && current != null) {
+                try {
+                    BigDecimal amount = parseAmount(current.get("TRNAMT"));
+                    String payee = current.get("NAME");
+                    String memo = current.get("MEMO");
+                    context.accept(transactionLine, new ImportRow(
+                            payee != null ? payee : memo,
+                            amount.abs(),
+                            amount.signum() < 0 ? Transaction.TransactionType.EXPENSE : Transaction.TransactionType.INCOME,
+                            parseOfxDate(current.get("DTPOSTED")),
+                            null,
+                            payee != null ? memo : null));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    context.reject(transactionLine, e.getMessage());
+                }
+                // Um trecho reenviado a partir desta linha ignora o fechamento órfão
+                context.resumeLine = line;
+                current = null;
+            } else if (!name.startsWith("/") && !name.startsWith("?") && !name.startsWith("!")) {
+                openTag = name;
+            }
+        }
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static List<String> splitCsvLine(String line, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char ch = line.charAt(i);
+            if (quoted) {
+                if (ch == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    current.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == delimiter) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(ch);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static int count(String value, char ch) {
+        int total = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == ch) total++;
+        }
+        return total;
+    }
+
+    private static BigDecimal parseAmount(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Valor ausente");
+        }
+        String normalized = value.replace("R$", "").replace(" ", "");
+        if (normalized.contains(",")) {
+            // Formato brasileiro: 1.234,56
+            normalized = normalized.replace(".", "").replace(",", ".");
+        }
+        try {
+            return new BigDecimal(normalized);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido: " + value);
+        }
+    }
+
+    private static LocalDateTime parseDate(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Data ausente");
+        }
+        if (value.contains("T")) {
+            return LocalDateTime.parse(value);
+        }
+        if (value.contains("/")) {
+            return LocalDate.parse(value, BR_DATE).atStartOfDay();
+        }
+        return LocalDate.parse(value).atStartOfDay();
+    }
+
+    private static LocalDateTime parseOfxDate(String value) {
+        if (value == null || value.length() < 8) {
+            throw new IllegalArgumentException("DTPOSTED inválido: " + value);
+        }
+        // Ignorar milissegundos e fuso horário, ex.: 20240115120000[-3:BRT]
+        String digits = value.replaceAll("[.\\[].*$", "");
+        if (digits.length() >= 14) {
+            return LocalDateTime.parse(digits.substring(0, 14), OFX_DATE_TIME);
+        }
+        return LocalDate.parse(digits.substring(0, 8), OFX_DATE).atStartOfDay();
+    }
+
+    private void flushBatch(User user, List<PendingRow> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TransactionDelta> deltas = new ArrayList<>(batch.size());
+        for (PendingRow pending : batch) {
+            deltas.add(new TransactionDelta(pending.categoryId, pending.row.type,
+                    pending.row.transactionDate, pending.row.amount, 1));
+        }
+
+        // Cada lote disputa o lock de escrita do usuário com as demais operações dele
+        userWriteSerializer.run(user.getId(), () -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, pending) -> {
+                ps.setString(1, pending.row.description);
+                ps.setBigDecimal(2, pending.row.amount);
+                ps.setString(3, pending.row.type.name());
+                ps.setObject(4, pending.row.transactionDate);
+                ps.setObject(5, now);
+                ps.setString(6, pending.row.notes);
+                ps.setLong(7, user.getId());
+                ps.setLong(8, pending.categoryId);
+            });
+
+            // Progresso das metas aplicado uma vez por lote
+            transactionService.applyDeltas(user, deltas);
+        }));
+    }
+
+    public enum ImportFormat {
+        CSV, OFX
+    }
+
+    private static class ImportRow {
+        private final String description;
+        private final BigDecimal amount;
+        private final Transaction.TransactionType type;
+        private final LocalDateTime transactionDate;
+        private final String categoryName;
+        private final String notes;
+
+        ImportRow(String description, BigDecimal amount, Transaction.TransactionType type,
+                  LocalDateTime transactionDate, String categoryName, String notes) {
+            this.description = description;
+            this.amount = amount;
+            this.type = type;
+            this.transactionDate = transactionDate;
+            this.categoryName = categoryName;
+            this.notes = notes;
+        }
+    }
+
+    private static class PendingRow {
+        private final long lineNumber;
+        private final ImportRow row;
+        private final Long categoryId;
+
+        PendingRow(long lineNumber, ImportRow row, Long categoryId) {
+            this.lineNumber = lineNumber;
+            this.row = row;
+            this.categoryId = categoryId;
+        }
+    }
+
+    private class ImportContext {
+        private final User user;
+        private final Map<String, Category> categories = new HashMap<>();
+        private final List<PendingRow> batch = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        private long imported;
+        private long skipped;
+        private int batches;
+        private int categoriesCreated;
+        // Primeira linha do arquivo ainda não gravada nem descartada; 0 enquanto nenhuma linha foi lida
+        private long resumeLine;
+
+        ImportContext(User user) {
+            this.user = user;
+            // Categorias resolvidas uma única vez por arquivo, por nome e tipo: uma receita
+            // nunca é lançada numa categoria de despesa homônima
+            for (Category category : categoryRepository.findByUser(user)) {
+                categories.put(categoryKey(category.getName(), category.getType().name()), category);
+            }
+        }
+
+        void accept(long lineNumber, ImportRow row) {
+            if (row.description == null || row.description.length() < 2) {
+                reject(lineNumber, "Descrição deve ter entre 2 e 100 caracteres");
+                return;
+            }
+            if (row.amount.compareTo(new BigDecimal("0.01")) < 0) {
+                reject(lineNumber, "Valor deve ser maior que zero");
+                return;
+            }
+
+            ImportRow normalized = new ImportRow(
+                    truncate(row.description, 100), row.amount, row.type, row.transactionDate,
+                    row.categoryName, truncate(row.notes, 500));
+            batch.add(new PendingRow(lineNumber, normalized, resolveCategory(row.categoryName, row.type).getId()));
+
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long lineNumber, String message) {
+            skipped++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Linha " + lineNumber + ": " + message);
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            flushBatch(user, batch);
+            imported += batch.size();
+            batches++;
+            batch.clear();
+        }
+
+        // Primeira linha ainda não gravada: a do lote pendente ou a que estava sendo lida
+        long failedLine() {
+            return batch.isEmpty() ? resumeLine : batch.get(0).lineNumber;
+        }
+
+        private Category resolveCategory(String name, Transaction.TransactionType type) {
+            String categoryName = name != null && name.length() >= 2 ? truncate(name, 50) : (type == Transaction.TransactionType.INCOME
+                    ? DEFAULT_INCOME_CATEGORY : DEFAULT_EXPENSE_CATEGORY);
+            String key = categoryKey(categoryName, type.name());
+
+            Category category = categories.get(key);
+            if (category == null) {
+                Category newCategory = new Category(categoryName, "Criada na importação",
+                        Category.TransactionType.valueOf(type.name()), user);
+                category = transactionTemplate.execute(status -> categoryRepository.save(newCategory));
+                categories.put(key, category);
+                categoriesCreated++;
+            }
+            return category;
+        }
+
+        private String categoryKey(String name, String type) {
+            return type + ":" + name.toLowerCase(Locale.ROOT);
+        }
+
+        private String truncate(String value, int max) {
+            return value != null && value.length() > max ? value.substring(0, max) : value;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package org.example.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Manutenção das partições mensais da tabela transactions: cria as partições
+ * dos próximos meses antes que sejam necessárias, dá partição própria aos
+ * meses que ficaram na partição default e, quando configurado,
+ * desanexa as partições antigas para o schema de arquivo. Os agregados
+ * (ledger, rollups e snapshots) acompanham apenas as partições anexadas.
+ */
+@Service
+public class TransactionPartitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionPartitionService.class);
+
+    private static final String PARTITION_PREFIX = "transactions_p";
+
+    private static final String DEFAULT_PARTITION = "transactions_default";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Value("${app.partitions.transactions.months-ahead:3}")
+    private int monthsAhead;
+
+    // 0 mantém todas as partições anexadas
+    @Value("${app.partitions.transactions.retention-months:0}")
+    private int retentionMonths;
+
+    @Value("${app.partitions.transactions.archive-schema:archive}")
+    private String archiveSchema;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        createPartitions();
+    }
+
+    @Scheduled(cron = "${app.partitions.transactions.cron:0 30 2 * * *}")
+    public void maintainPartitions() {
+        createPartitions();
+        archiveExpiredPartitions();
+    }
+
+    /**
+     * Cria as partições dos meses que ainda têm linhas na partição default
+     * (histórico anterior à migração, importações retroativas) e as dos
+     * próximos meses.
+     */
+    public List<String> createPartitions() {
+        List<String> created = new ArrayList<>(createPartitionsForDefaultRows());
+        created.addAll(createFuturePartitions());
+        return created;
+    }
+
+    public List<String> createFuturePartitions() {
+        List<YearMonth> months = new ArrayList<>();
+        YearMonth current = YearMonth.now();
+        for (int offset = 0; offset <= monthsAhead; offset++) {
+            months.add(current.plusMonths(offset));
+        }
+        return createMonthlyPartitions(months);
+    }
+
+    /**
+     * Linhas de meses sem partição caem na default e ficariam lá para sempre,
+     * fora do alcance do arquivamento; cada mês encontrado ganha sua partição e
+     * createPartition move as linhas para ela.
+     */
+    public List<String> createPartitionsForDefaultRows() {
+        List<YearMonth> months = jdbcTemplate.queryForList(
+                "SELECT DISTINCT to_char(transaction_date, 'YYYY-MM') FROM " + DEFAULT_PARTITION +
+                        " WHERE transaction_date IS NOT NULL ORDER BY 1",
+                String.class).stream()
+                .map(YearMonth::parse)
+                .toList();
+        return createMonthlyPartitions(months);
+    }
+
+    private List<String> createMonthlyPartitions(List<YearMonth> months) {
+        Set<String> existing = new TreeSet<>(listPartitions());
+        List<String> created = new ArrayList<>();
+
+        for (YearMonth month : months) {
+            String name = partitionName(month);
+            if (existing.contains(name)) {
+                continue;
+            }
+            try {
+                createPartition(name, month.atDay(1), month.plusMonths(1).atDay(1));
+                created.add(name);
+                existing.add(name);
+            } catch (Exception e) {
+                logger.error("Não foi possível criar a partição {}", name, e);
+            }
+        }
+
+        if (!created.isEmpty()) {
+            logger.info("Partições de transações criadas: {}", created);
+        }
+        return created;
+    }
+
+    /**
+     * Cria a partição do mês. Se a partição default já recebeu linhas desse mês,
+     * o Postgres recusa o CREATE; nesse caso a default é desanexada, a partição é
+     * criada, as linhas são movidas e a default volta a ser anexada, tudo na mesma
+     * transação. A tabela fica bloqueada para escrita durante a movimentação.
+     */
+    private void createPartition(String name, LocalDate from, LocalDate to) {
+        String range = "transaction_date >= '" + from + "' AND transaction_date < '" + to + "'";
+        transactionTemplate.executeWithoutResult(status -> {
+            Boolean pending = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE " + range + ")", Boolean.class);
+            if (!Boolean.TRUE.equals(pending)) {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF transactions " +
+                        "FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+                return;
+            }
+
+            jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + DEFAULT_PARTITION);
+            jdbcTemplate.execute("CREATE TABLE " + name + " PARTITION OF transactions " +
+                    "FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+            int moved = jdbcTemplate.update("INSERT INTO " + name + " SELECT * FROM " + DEFAULT_PARTITION + " WHERE " + range);
+            jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE " + range);
+            jdbcTemplate.execute("ALTER TABLE transactions ATTACH PARTITION " + DEFAULT_PARTITION + " DEFAULT");
+            logger.info("{} transações movidas da partição default para {}", moved, name);
+        });
+    }
+
+    public List<String> archiveExpiredPartitions() {
+        List<String> archived = new ArrayList<>();
+        if (retentionMonths <= 0) {
+            return archived;
+        }
+
+        String cutoff = partitionName(YearMonth.now().minusMonths(retentionMonths));
+        for (String name : listPartitions()) {
+            // Nomes com sufixo yyyyMM ordenam cronologicamente
+            if (name.compareTo(cutoff) >= 0) {
+                continue;
+            }
+            List<Long> userIds = transactionTemplate.execute(status -> {
+                List<Long> owners = jdbcTemplate.queryForList("SELECT DISTINCT user_id FROM " + name, Long.class);
+                jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+                jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + name);
+                jdbcTemplate.execute("ALTER TABLE " + name + " SET SCHEMA " + archiveSchema);
+                return owners;
+            });
+            archived.add(name);
+
+            // Os totais passam a refletir só as partições anexadas, como uma reconstrução faria
+            for (Long userId : userIds) {
+                balanceLedgerService.rebuild(userId);
+            }
+            if (!userIds.isEmpty()) {
+                logger.info("Agregados de {} usuários reconstruídos após arquivar {}", userIds.size(), name);
+            }
+        }
+
+        if (!archived.isEmpty()) {
+            logger.info("Partições de transações arquivadas em {}: {}", archiveSchema, archived);
+        }
+        return archived;
+    }
+
+    public List<String> listPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "JOIN pg_namespace n ON n.oid = p.relnamespace " +
+                "WHERE p.relname = 'transactions' AND n.nspname = current_schema() " +
+                "AND c.relname LIKE '" + PARTITION_PREFIX + "%' ORDER BY c.relname",
+                String.class);
+    }
+
+    private String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -1,16 +1,30 @@
 package org.example.service;
 
+import org.example.dto.CursorPageDto;
+import org.example.dto.TransactionDelta;
+import org.example.dto.TransactionViewDto;
 import org.example.entity.Category;
 import org.example.entity.Transaction;
 import org.example.entity.User;
+import org.example.exception.BusinessException;
 import org.example.repository.TransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class TransactionService {
@@ -19,31 +33,142 @@ public class TransactionService {
     private TransactionRepository transactionRepository;
 
     @Autowired
-    private GoalService goalService;
+    private GoalProgressQueue goalProgressQueue;
 
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Autowired
+    private CategoryRollupService categoryRollupService;
+
+    @Autowired
+    private ReportCacheService reportCacheService;
+
+    @Autowired
+    private MonthlyReportSnapshotService monthlyReportSnapshotService;
+
+    @Autowired
+    private UserWriteSerializer userWriteSerializer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.pagination.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.pagination.max-size:500}")
+    private int maxPageSize;
+
+    // As escritas do mesmo usuário são serializadas; o lock envolve a transação inteira
     public Transaction createTransaction(Transaction transaction) {
-        Transaction savedTransaction = transactionRepository.save(transaction);
+        return userWriteSerializer.execute(transaction.getUser().getId(), () -> transactionTemplate.execute(status -> {
+            Transaction savedTransaction = transactionRepository.save(transaction);
 
-        // Atualizar metas relacionadas
-        goalService.updateGoalProgress(transaction.getUser(), transaction.getCategory(),
-                                     transaction.getAmount(), transaction.getType());
+            // Atualizar metas relacionadas
+            applyDeltas(transaction.getUser(), List.of(TransactionDelta.of(savedTransaction)));
 
-        return savedTransaction;
+            return savedTransaction;
+        }));
     }
 
+    @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByUser(User user) {
         return transactionRepository.findByUserOrderByTransactionDateDesc(user);
     }
 
+    @Transactional(readOnly = true)
+    public List<TransactionViewDto> getTransactionViewsByUser(User user) {
+        return transactionRepository.findViewsByUser(user);
+    }
+
+    @Transactional(readOnly = true)
+    public List<TransactionViewDto> getRecentTransactionViews(User user, int limit) {
+        return transactionRepository.findFirstViewPageByUser(user, PageRequest.of(0, limit));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<Transaction> getTransactionPage(User user, String cursor, Integer size) {
+        return getPage(cursor, size,
+                limit -> transactionRepository.findFirstPageByUser(user, limit),
+                (date, id, limit) -> transactionRepository.findPageByUserAfter(user, date, id, limit),
+                Transaction::getTransactionDate, Transaction::getId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<TransactionViewDto> getTransactionViewPage(User user, String cursor, Integer size) {
+        return getPage(cursor, size,
+                limit -> transactionRepository.findFirstViewPageByUser(user, limit),
+                (date, id, limit) -> transactionRepository.findViewPageByUserAfter(user, date, id, limit),
+                TransactionViewDto::getTransactionDate, TransactionViewDto::getId);
+    }
+
+    private <T> CursorPageDto<T> getPage(String cursor, Integer size,
+                                         Function<PageRequest, List<T>> firstPage, PageAfter<T> nextPage,
+                                         Function<T, LocalDateTime> dateOf, Function<T, Long> idOf) {
+        int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        // Busca um item extra para saber se existe próxima página
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<T> items;
+        if (cursor == null || cursor.isBlank()) {
+            items = firstPage.apply(limit);
+        } else {
+            String[] position = decodeCursor(cursor);
+            items = nextPage.find(LocalDateTime.parse(position[0]), Long.valueOf(position[1]), limit);
+        }
+
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            T last = items.get(pageSize - 1);
+            nextCursor = encodeCursor(dateOf.apply(last), idOf.apply(last));
+        }
+
+        return new CursorPageDto<>(items, nextCursor, pageSize);
+    }
+
+    @FunctionalInterface
+    private interface PageAfter<T> {
+        List<T> find(LocalDateTime transactionDate, Long id, PageRequest limit);
+    }
+
+    private String encodeCursor(LocalDateTime transactionDate, Long id) {
+        String position = transactionDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|");
+            if (parts.length != 2) {
+                throw new BusinessException("Cursor de paginação inválido");
+            }
+            LocalDateTime.parse(parts[0]);
+            Long.valueOf(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+    }
+
+    @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByUserAndDateRange(User user, LocalDateTime startDate, LocalDateTime endDate) {
         return transactionRepository.findByUserAndTransactionDateBetweenOrderByTransactionDateDesc(
                 user, startDate, endDate);
     }
 
+    @Transactional(readOnly = true)
+    public List<TransactionViewDto> getTransactionViewsByUserAndDateRange(User user, LocalDateTime startDate, LocalDateTime endDate) {
+        return transactionRepository.findViewsByUserAndDateBetween(user, startDate, endDate);
+    }
+
+    @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByUserAndCategory(User user, Category category) {
         return transactionRepository.findByUserAndCategoryOrderByTransactionDateDesc(user, category);
     }
 
+    @Transactional(readOnly = true)
     public List<Transaction> getTransactionsByUserAndType(User user, Transaction.TransactionType type) {
         return transactionRepository.findByUserAndTypeOrderByTransactionDateDesc(user, type);
     }
@@ -53,33 +178,58 @@ public class TransactionService {
     }
 
     public Transaction updateTransaction(Transaction transaction) {
-        return transactionRepository.save(transaction);
+        return userWriteSerializer.execute(transaction.getUser().getId(), () -> transactionTemplate.execute(status -> {
+            Transaction existing = transactionRepository.findByIdAndUser(transaction.getId(), transaction.getUser())
+                    .orElseThrow(() -> new BusinessException("Transação não encontrada"));
+            // Capturar o estado anterior antes do merge sobrescrever a entidade gerenciada
+            TransactionDelta previous = TransactionDelta.reversalOf(existing);
+
+            Transaction updatedTransaction = transactionRepository.save(transaction);
+
+            applyDeltas(transaction.getUser(), List.of(previous, TransactionDelta.of(updatedTransaction)));
+
+            return updatedTransaction;
+        }));
     }
 
     public void deleteTransaction(Long id, User user) {
-        Optional<Transaction> transaction = transactionRepository.findByIdAndUser(id, user);
-        if (transaction.isPresent()) {
-            transactionRepository.delete(transaction.get());
-
-            // Atualizar metas relacionadas (reverter o progresso)
-            goalService.updateGoalProgress(user, transaction.get().getCategory(),
-                                         transaction.get().getAmount().negate(),
-                                         transaction.get().getType());
+        userWriteSerializer.run(user.getId(), () -> transactionTemplate.executeWithoutResult(status -> {
+            Optional<Transaction> transaction = transactionRepository.findByIdAndUser(id, user);
+            if (transaction.isPresent()) {
+                transactionRepository.delete(transaction.get());
+
+                // Atualizar metas relacionadas (reverter o progresso)
+                applyDeltas(user, List.of(TransactionDelta.reversalOf(transaction.get())));
+            }
+        }));
+    }
+
+    public void applyDeltas(User user, List<TransactionDelta> deltas) {
+        if (balanceLedgerService.applyDeltas(user, deltas)) {
+            categoryRollupService.applyDeltas(user, deltas);
         }
+
+        Set<Integer> periods = deltas.stream()
+                .map(delta -> CategoryRollupService.periodOf(delta.getTransactionDate()))
+                .collect(Collectors.toSet());
+        // Escritas retroativas desatualizam o snapshot do mês fechado
+        monthlyReportSnapshotService.markStale(user.getId(), periods);
+        reportCacheService.invalidatePeriods(user.getId(), periods);
+
+        // Progresso das metas é aplicado de forma assíncrona após o commit
+        goalProgressQueue.enqueue(user, deltas);
     }
 
     public BigDecimal getTotalIncomeByUser(User user) {
-        BigDecimal total = transactionRepository.sumByUserAndType(user, Transaction.TransactionType.INCOME);
-        return total != null ? total : BigDecimal.ZERO;
+        return balanceLedgerService.getBalance(user).getTotalIncome();
     }
 
     public BigDecimal getTotalExpenseByUser(User user) {
-        BigDecimal total = transactionRepository.sumByUserAndType(user, Transaction.TransactionType.EXPENSE);
-        return total != null ? total : BigDecimal.ZERO;
+        return balanceLedgerService.getBalance(user).getTotalExpense();
     }
 
     public BigDecimal getBalanceByUser(User user) {
-        return getTotalIncomeByUser(user).subtract(getTotalExpenseByUser(user));
+        return balanceLedgerService.getBalance(user).getBalance();
     }
 
     public BigDecimal getIncomeByPeriod(User user, LocalDateTime startDate, LocalDateTime endDate) {
@@ -99,8 +249,4 @@ public class TransactionService {
         return transactionRepository.findCategorySummaryByUserAndTypeAndDateBetween(
                 user, type, startDate, endDate);
     }
-
-    public List<Object[]> getMonthlySummary(User user, Transaction.TransactionType type) {
-        return transactionRepository.findMonthlySummaryByUserAndType(user, type);
-    }
 }
@@ -20,12 +20,20 @@ public class UserService implements UserDetailsService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private PrincipalCacheService principalCacheService;
+
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
 
+    // Usado pelo filtro JWT; o login continua consultando o banco diretamente
+    public User loadAuthenticatedUser(String username) throws UsernameNotFoundException {
+        return principalCacheService.getPrincipal(username, () -> (User) loadUserByUsername(username));
+    }
+
     public User createUser(String username, String email, String password, String fullName) {
         if (userRepository.existsByUsername(username)) {
             throw new RuntimeException("Username already exists");
@@ -48,11 +56,14 @@ public class UserService implements UserDetailsService {
     }
 
     public User updateUser(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        principalCacheService.invalidateUser(savedUser.getId());
+        return savedUser;
     }
 
     public void deleteUser(Long id) {
         userRepository.deleteById(id);
+        principalCacheService.invalidateUser(id);
     }
 
     public boolean existsByUsername(String username) {
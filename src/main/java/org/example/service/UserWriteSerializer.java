@@ -0,0 +1,124 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import org.example.exception.ConcurrentWriteException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializa as escritas de um mesmo usuário dentro do processo com locks
+ * distribuídos em faixas pelo id do usuário; usuários de faixas diferentes
+ * nunca esperam uns pelos outros. O lock envolve a transação inteira, então
+ * deve ser adquirido antes de abri-la. A fila de espera por faixa e o tempo
+ * de espera são limitados.
+ */
+@Service
+public class UserWriteSerializer {
+
+    @Value("${app.writes.stripes:1024}")
+    private int stripes;
+
+    @Value("${app.writes.lock-timeout:5s}")
+    private Duration lockTimeout;
+
+    @Value("${app.writes.max-waiters:32}")
+    private int maxWaiters;
+
+    private ReentrantLock[] locks;
+
+    private final LongAdder acquisitions = new LongAdder();
+
+    private final LongAdder contended = new LongAdder();
+
+    private final LongAdder timeouts = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder waitNanos = new LongAdder();
+
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        // Potência de dois para escolher a faixa com uma máscara
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T execute(Long userId, Supplier<T> action) {
+        ReentrantLock lock = lockFor(userId);
+        acquire(lock);
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void run(Long userId, Runnable action) {
+        execute(userId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public Map<String, Object> getStats() {
+        long contendedCount = contended.sum();
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("stripes", locks.length);
+        values.put("acquisitions", acquisitions.sum());
+        values.put("contended", contendedCount);
+        values.put("timeouts", timeouts.sum());
+        values.put("rejected", rejected.sum());
+        values.put("avgWaitMillis", contendedCount > 0 ? waitNanos.sum() / contendedCount / 1_000_000.0 : 0);
+        values.put("maxWaitMillis", maxWaitNanos.get() / 1_000_000.0);
+        return values;
+    }
+
+    private void acquire(ReentrantLock lock) {
+        acquisitions.increment();
+        if (lock.tryLock()) {
+            return;
+        }
+
+        contended.increment();
+        if (lock.getQueueLength() >= maxWaiters) {
+            rejected.increment();
+            throw new ConcurrentWriteException("Muitas operações simultâneas para este usuário; tente novamente");
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(lockTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrentWriteException("Operação interrompida aguardando outra escrita do usuário");
+        }
+
+        long waited = System.nanoTime() - start;
+        waitNanos.add(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        if (!acquired) {
+            timeouts.increment();
+            throw new ConcurrentWriteException("Tempo esgotado aguardando outra operação do usuário; tente novamente");
+        }
+    }
+
+    private ReentrantLock lockFor(Long userId) {
+        int hash = Long.hashCode(userId);
+        return locks[(hash ^ (hash >>> 16)) & (locks.length - 1)];
+    }
+}
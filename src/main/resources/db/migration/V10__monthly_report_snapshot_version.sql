@@ -0,0 +1,3 @@
+-- Carimbo das escritas retroativas: cada marcação de desatualizado incrementa a versão, e uma
+-- regeneração só grava o relatório se a versão não mudou desde que começou a ler o mês.
+ALTER TABLE monthly_report_snapshots ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,10 @@
+-- Fila de progresso de metas. IF NOT EXISTS: bancos que rodaram a aplicação com
+-- ddl-auto: update depois da introdução da fila já têm a tabela.
+CREATE TABLE IF NOT EXISTS goal_progress_events (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id     BIGINT NOT NULL,
+    category_id BIGINT,
+    type        VARCHAR(20) NOT NULL,
+    amount      NUMERIC(15, 2) NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,10 @@
+-- Saldo acumulado por usuário. IF NOT EXISTS: bancos que rodaram a aplicação com
+-- ddl-auto: update depois da introdução do ledger já têm a tabela.
+-- Linhas ausentes são inicializadas sob demanda pelo BalanceLedgerService.
+CREATE TABLE IF NOT EXISTS user_balances (
+    user_id           BIGINT PRIMARY KEY,
+    total_income      NUMERIC(15, 2) NOT NULL,
+    total_expense     NUMERIC(15, 2) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    updated_at        TIMESTAMP(6) NOT NULL
+);
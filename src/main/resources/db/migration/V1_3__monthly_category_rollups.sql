@@ -0,0 +1,13 @@
+-- Totais mensais por categoria. IF NOT EXISTS: bancos que rodaram a aplicação com
+-- ddl-auto: update depois da introdução dos rollups já têm a tabela.
+-- Os totais são reconstruídos junto com a inicialização do ledger de cada usuário.
+CREATE TABLE IF NOT EXISTS monthly_category_rollups (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id           BIGINT NOT NULL,
+    category_id       BIGINT NOT NULL,
+    period            INTEGER NOT NULL,
+    type              VARCHAR(20) NOT NULL,
+    total_amount      NUMERIC(15, 2) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    CONSTRAINT uk_monthly_category_rollups UNIQUE (user_id, category_id, period, type)
+);
@@ -0,0 +1,58 @@
+-- Esquema inicial, equivalente ao gerado anteriormente por ddl-auto: update.
+-- Bancos já existentes são marcados nesta versão (baseline-on-migrate) e seguem a partir da V1_1,
+-- por isso esta migração contém apenas as tabelas que já existiam antes do Flyway.
+
+CREATE TABLE users (
+    id                      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username                VARCHAR(50) NOT NULL UNIQUE,
+    email                   VARCHAR(255) NOT NULL UNIQUE,
+    password                VARCHAR(255) NOT NULL,
+    full_name               VARCHAR(100),
+    enabled                 BOOLEAN NOT NULL DEFAULT TRUE,
+    account_non_expired     BOOLEAN NOT NULL DEFAULT TRUE,
+    account_non_locked      BOOLEAN NOT NULL DEFAULT TRUE,
+    credentials_non_expired BOOLEAN NOT NULL DEFAULT TRUE,
+    role                    VARCHAR(20),
+    created_at              TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE categories (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(50) NOT NULL,
+    description VARCHAR(255),
+    type        VARCHAR(20) NOT NULL,
+    color       VARCHAR(255) NOT NULL,
+    icon        VARCHAR(255) NOT NULL,
+    active      BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at  TIMESTAMP(6) NOT NULL,
+    user_id     BIGINT NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE transactions (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    description      VARCHAR(100) NOT NULL,
+    amount           NUMERIC(10, 2) NOT NULL,
+    type             VARCHAR(20) NOT NULL,
+    transaction_date TIMESTAMP(6) NOT NULL,
+    created_at       TIMESTAMP(6) NOT NULL,
+    notes            VARCHAR(500),
+    user_id          BIGINT NOT NULL REFERENCES users (id),
+    category_id      BIGINT NOT NULL REFERENCES categories (id)
+);
+
+CREATE TABLE goals (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name           VARCHAR(100) NOT NULL,
+    description    VARCHAR(255),
+    target_amount  NUMERIC(10, 2) NOT NULL,
+    current_amount NUMERIC(10, 2) NOT NULL,
+    type           VARCHAR(20) NOT NULL,
+    status         VARCHAR(20) NOT NULL,
+    start_date     TIMESTAMP(6) NOT NULL,
+    target_date    TIMESTAMP(6) NOT NULL,
+    created_at     TIMESTAMP(6) NOT NULL,
+    completed_at   TIMESTAMP(6),
+    email_alerts   BOOLEAN NOT NULL DEFAULT TRUE,
+    user_id        BIGINT NOT NULL REFERENCES users (id),
+    category_id    BIGINT REFERENCES categories (id)
+);
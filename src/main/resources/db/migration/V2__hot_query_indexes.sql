@@ -0,0 +1,42 @@
+-- Índices para as consultas mais frequentes dos repositórios.
+-- IF NOT EXISTS mantém a migração segura em bancos criados pelo ddl-auto.
+
+-- Listagens, paginação por cursor (data, id) e consultas por período
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date
+    ON transactions (user_id, transaction_date DESC, id DESC);
+
+-- Somatórios e listagens por tipo dentro de um período
+CREATE INDEX IF NOT EXISTS idx_transactions_user_type_date
+    ON transactions (user_id, type, transaction_date) INCLUDE (amount);
+
+-- Listagem por categoria e chave estrangeira (remoção/validação de categorias)
+CREATE INDEX IF NOT EXISTS idx_transactions_category_date
+    ON transactions (category_id, transaction_date DESC);
+
+-- Metas: listagem por data de criação, filtros por status/tipo e metas vencidas
+CREATE INDEX IF NOT EXISTS idx_goals_user_created
+    ON goals (user_id, created_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_goals_user_status_target
+    ON goals (user_id, status, target_date);
+
+CREATE INDEX IF NOT EXISTS idx_goals_user_type
+    ON goals (user_id, type);
+
+CREATE INDEX IF NOT EXISTS idx_goals_category
+    ON goals (category_id);
+
+-- Categorias por usuário/tipo e verificação de nome duplicado
+CREATE INDEX IF NOT EXISTS idx_categories_user_type
+    ON categories (user_id, type);
+
+CREATE INDEX IF NOT EXISTS idx_categories_user_name
+    ON categories (user_id, name);
+
+-- Fila de progresso de metas, lida por usuário em ordem de chegada
+CREATE INDEX IF NOT EXISTS idx_goal_progress_events_user
+    ON goal_progress_events (user_id, id);
+
+-- Rollups lidos por usuário e período (relatório mensal, comparativo anual e dashboard)
+CREATE INDEX IF NOT EXISTS idx_monthly_category_rollups_user_period
+    ON monthly_category_rollups (user_id, period);
@@ -0,0 +1,66 @@
+-- Converte transactions em tabela particionada por mês (RANGE em transaction_date).
+-- A chave primária passa a incluir transaction_date, exigência do PostgreSQL para tabelas particionadas;
+-- o id continua único por vir de uma sequência.
+-- Em bases grandes esta migração copia todas as linhas: execute em janela de manutenção.
+
+ALTER TABLE transactions RENAME TO transactions_legacy;
+ALTER INDEX transactions_pkey RENAME TO transactions_legacy_pkey;
+DROP INDEX IF EXISTS idx_transactions_user_date;
+DROP INDEX IF EXISTS idx_transactions_user_type_date;
+DROP INDEX IF EXISTS idx_transactions_category_date;
+
+CREATE SEQUENCE transactions_id_seq_v3;
+
+CREATE TABLE transactions (
+    id               BIGINT NOT NULL DEFAULT nextval('transactions_id_seq_v3'),
+    description      VARCHAR(100) NOT NULL,
+    amount           NUMERIC(10, 2) NOT NULL,
+    type             VARCHAR(20) NOT NULL,
+    transaction_date TIMESTAMP(6) NOT NULL,
+    created_at       TIMESTAMP(6) NOT NULL,
+    notes            VARCHAR(500),
+    user_id          BIGINT NOT NULL REFERENCES users (id),
+    category_id      BIGINT NOT NULL REFERENCES categories (id),
+    CONSTRAINT transactions_pkey PRIMARY KEY (id, transaction_date)
+) PARTITION BY RANGE (transaction_date);
+
+ALTER SEQUENCE transactions_id_seq_v3 OWNED BY transactions.id;
+
+-- Recebe datas fora das partições mensais (ex.: extratos antigos importados)
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+-- Partições mensais do mês mais antigo existente até três meses à frente
+DO $$
+DECLARE
+    month_start DATE;
+    last_month  DATE := (date_trunc('month', now()) + INTERVAL '3 months')::DATE;
+BEGIN
+    SELECT COALESCE(date_trunc('month', MIN(transaction_date))::DATE, date_trunc('month', now())::DATE)
+      INTO month_start
+      FROM transactions_legacy;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                       'transactions_p' || to_char(month_start, 'YYYYMM'),
+                       month_start, (month_start + INTERVAL '1 month')::DATE);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+INSERT INTO transactions (id, description, amount, type, transaction_date, created_at, notes, user_id, category_id)
+SELECT id, description, amount, type, transaction_date, created_at, notes, user_id, category_id
+  FROM transactions_legacy;
+
+SELECT setval('transactions_id_seq_v3', COALESCE((SELECT MAX(id) FROM transactions), 0) + 1, false);
+
+DROP TABLE transactions_legacy;
+
+-- Índices particionados: criados no pai e propagados para cada partição
+CREATE INDEX idx_transactions_user_date
+    ON transactions (user_id, transaction_date DESC, id DESC);
+
+CREATE INDEX idx_transactions_user_type_date
+    ON transactions (user_id, type, transaction_date) INCLUDE (amount);
+
+CREATE INDEX idx_transactions_category_date
+    ON transactions (category_id, transaction_date DESC);
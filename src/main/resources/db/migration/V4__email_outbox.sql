@@ -0,0 +1,23 @@
+-- Outbox de e-mails: as notificações são gravadas na mesma transação que as originou
+-- e entregues depois pelo EmailOutboxDispatcher.
+CREATE TABLE email_outbox (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id         BIGINT,
+    recipient       VARCHAR(255) NOT NULL,
+    subject         VARCHAR(255) NOT NULL,
+    body            TEXT NOT NULL,
+    status          VARCHAR(20) NOT NULL,
+    attempts        INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6) NOT NULL,
+    last_error      VARCHAR(1000),
+    created_at      TIMESTAMP(6) NOT NULL,
+    sent_at         TIMESTAMP(6)
+);
+
+-- Busca das mensagens pendentes que já podem ser enviadas
+CREATE INDEX idx_email_outbox_pending
+    ON email_outbox (next_attempt_at, id) WHERE status = 'PENDING';
+
+-- Limpeza das mensagens enviadas
+CREATE INDEX idx_email_outbox_sent
+    ON email_outbox (sent_at) WHERE status = 'SENT';
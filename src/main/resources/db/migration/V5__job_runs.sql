@@ -0,0 +1,25 @@
+-- Execuções dos jobs agendados processados em blocos. checkpoint_id guarda o maior id
+-- já processado sem lacunas, permitindo retomar uma execução interrompida.
+CREATE TABLE job_runs (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_name        VARCHAR(100) NOT NULL,
+    status          VARCHAR(20) NOT NULL,
+    checkpoint_id   BIGINT NOT NULL,
+    items_processed BIGINT NOT NULL,
+    items_affected  BIGINT NOT NULL,
+    chunks          BIGINT NOT NULL,
+    attempts        INTEGER NOT NULL,
+    started_at      TIMESTAMP(6) NOT NULL,
+    updated_at      TIMESTAMP(6) NOT NULL,
+    finished_at     TIMESTAMP(6),
+    last_error      VARCHAR(1000)
+);
+
+CREATE INDEX idx_job_runs_job ON job_runs (job_name, id DESC);
+
+-- No máximo uma execução ativa por job, mesmo com várias instâncias da aplicação
+CREATE UNIQUE INDEX uk_job_runs_running ON job_runs (job_name) WHERE status = 'RUNNING';
+
+-- Varredura por id das metas ativas com alertas habilitados
+CREATE INDEX IF NOT EXISTS idx_goals_active_alerts
+    ON goals (id) INCLUDE (target_date) WHERE status = 'ACTIVE' AND email_alerts = TRUE;
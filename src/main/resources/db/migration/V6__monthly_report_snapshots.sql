@@ -0,0 +1,12 @@
+-- Relatórios mensais pré-calculados dos meses fechados. O payload é o MonthlyReportDto
+-- serializado em JSON e compactado com gzip; stale indica que uma escrita retroativa
+-- alterou o mês depois da geração.
+CREATE TABLE monthly_report_snapshots (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id      BIGINT NOT NULL,
+    period       INTEGER NOT NULL,
+    payload      BYTEA NOT NULL,
+    stale        BOOLEAN NOT NULL,
+    generated_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_monthly_report_snapshots UNIQUE (user_id, period)
+);
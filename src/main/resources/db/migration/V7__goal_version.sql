@@ -0,0 +1,3 @@
+-- Versionamento otimista das metas. As atualizações de progresso em lote também incrementam
+-- a versão, de modo que uma edição baseada em um estado anterior falha em vez de sobrescrever o progresso.
+ALTER TABLE goals ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,20 @@
+-- Metas de Limite de Gastos passam a valer por mês civil: current_amount soma apenas as
+-- despesas do mês iniciado em period_start e volta a zero quando o mês seguinte começa.
+ALTER TABLE goals ADD COLUMN IF NOT EXISTS period_start DATE;
+
+-- Mês das transações de origem de cada evento pendente (nulo: conta no mês corrente)
+ALTER TABLE goal_progress_events ADD COLUMN IF NOT EXISTS period DATE;
+
+UPDATE goals g
+SET period_start   = date_trunc('month', now())::date,
+    current_amount = COALESCE((
+        SELECT SUM(t.amount)
+        FROM transactions t
+        WHERE t.user_id = g.user_id
+          AND t.type = 'EXPENSE'
+          AND (g.category_id IS NULL OR t.category_id = g.category_id)
+          AND t.transaction_date >= date_trunc('month', now())
+          AND t.transaction_date < date_trunc('month', now()) + INTERVAL '1 month'
+    ), 0),
+    version        = g.version + 1
+WHERE g.type = 'EXPENSE_LIMIT';
@@ -0,0 +1,4 @@
+-- Versão das definições de metas de cada usuário (criação, edição, cancelamento, conclusão).
+-- O GoalMatchIndex compara a versão em cache com esta coluna para descobrir, com uma leitura
+-- por chave primária, se outra instância alterou as metas do usuário.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS goals_version BIGINT NOT NULL DEFAULT 0;
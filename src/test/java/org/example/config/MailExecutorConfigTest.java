@@ -0,0 +1,116 @@
+package org.example.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Carga sobre o mailExecutor nos dois modos: envios bloqueantes (simulados
+ * com sleep, como a espera pelo SMTP) precisam respeitar o limite de
+ * concorrência configurado e terminar sem perder tarefas.
+ */
+class MailExecutorConfigTest {
+
+    @Test
+    void virtualModeRunsEveryTaskOnVirtualThreadsWithinConcurrencyLimit() throws Exception {
+        TaskExecutor executor = mailExecutor(true, 4, 500);
+        LoadResult result = runBlockingLoad(executor, 400, 10);
+
+        assertThat(result.completed).isTrue();
+        assertThat(result.allVirtual).isTrue();
+        assertThat(result.maxConcurrent).isBetween(2, 4);
+    }
+
+    @Test
+    void virtualModeAbsorbsThousandsOfBlockingTasks() throws Exception {
+        // Limite alto: com threads de plataforma isso exigiria um pool de mil threads
+        TaskExecutor executor = mailExecutor(true, 1_000, 500);
+        long start = System.nanoTime();
+        LoadResult result = runBlockingLoad(executor, 10_000, 50);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(result.completed).isTrue();
+        assertThat(result.allVirtual).isTrue();
+        assertThat(result.maxConcurrent).isLessThanOrEqualTo(1_000);
+        // 10 rodadas de 50 ms; em série seriam 500 s
+        assertThat(elapsedMillis).isLessThan(20_000);
+    }
+
+    @Test
+    void platformModeUsesBoundedPoolAndRejectsWhenQueueIsFull() throws Exception {
+        ThreadPoolTaskExecutor executor = (ThreadPoolTaskExecutor) mailExecutor(false, 2, 5);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 7; i++) {
+                executor.execute(() -> await(release));
+            }
+            assertThatThrownBy(() -> executor.execute(() -> { }))
+                    .isInstanceOf(TaskRejectedException.class);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static LoadResult runBlockingLoad(TaskExecutor executor, int tasks, long sleepMillis) throws Exception {
+        CountDownLatch done = new CountDownLatch(tasks);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        AtomicBoolean allVirtual = new AtomicBoolean(true);
+
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                maxConcurrent.accumulateAndGet(running.incrementAndGet(), Math::max);
+                if (!Thread.currentThread().isVirtual()) {
+                    allVirtual.set(false);
+                }
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+
+        LoadResult result = new LoadResult();
+        result.completed = done.await(60, TimeUnit.SECONDS);
+        result.allVirtual = allVirtual.get();
+        result.maxConcurrent = maxConcurrent.get();
+        return result;
+    }
+
+    private static TaskExecutor mailExecutor(boolean virtualThreads, int concurrency, int queueCapacity) {
+        MailExecutorConfig config = new MailExecutorConfig();
+        ReflectionTestUtils.setField(config, "virtualThreads", virtualThreads);
+        ReflectionTestUtils.setField(config, "concurrency", concurrency);
+        ReflectionTestUtils.setField(config, "queueCapacity", queueCapacity);
+        return config.mailExecutor();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class LoadResult {
+        private boolean completed;
+        private boolean allVirtual;
+        private int maxConcurrent;
+    }
+}
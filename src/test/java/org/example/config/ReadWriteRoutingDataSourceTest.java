@@ -0,0 +1,106 @@
+package org.example.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Monta o DataSource exatamente como o DataSourceConfig e verifica, pelo
+ * gerenciador de transações real, em qual pool cada transação obtém a conexão.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+
+    private final DataSource replica = mock(DataSource.class);
+
+    private final ReplicaRoutingPolicy routingPolicy = mock(ReplicaRoutingPolicy.class);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        stubConnection(primary);
+        stubConnection(replica);
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() throws Exception {
+        when(routingPolicy.canReadFromReplica()).thenReturn(true);
+
+        runQuery(dataSourceWithReplica(), true);
+
+        verify(replica).getConnection();
+        verify(primary, never()).getConnection();
+    }
+
+    @Test
+    void writeTransactionUsesPrimaryAndPinsUser() throws Exception {
+        when(routingPolicy.canReadFromReplica()).thenReturn(true);
+
+        runQuery(dataSourceWithReplica(), false);
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+        verify(routingPolicy).markCurrentUserWrite();
+    }
+
+    @Test
+    void readOnlyTransactionFallsBackToPrimaryWhenReplicaIsNotUsable() throws Exception {
+        // Réplica atrasada, fora do ar ou usuário dentro da janela das próprias escritas
+        when(routingPolicy.canReadFromReplica()).thenReturn(false);
+
+        runQuery(dataSourceWithReplica(), true);
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void readOnlyTransactionUsesPrimaryWithoutReplicaConfigured() throws Exception {
+        when(routingPolicy.canReadFromReplica()).thenReturn(true);
+
+        DataSource dataSource = new DataSourceConfig().dataSource(primary,
+                new DefaultListableBeanFactory().getBeanProvider(DataSource.class), routingPolicy);
+        runQuery(dataSource, true);
+
+        verify(primary).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    private DataSource dataSourceWithReplica() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("replicaDataSource", replica);
+        return new DataSourceConfig().dataSource(primary, beanFactory.getBeanProvider(DataSource.class), routingPolicy);
+    }
+
+    private void runQuery(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        template.setReadOnly(readOnly);
+        template.executeWithoutResult(status -> {
+            try {
+                // A conexão física só é obtida no primeiro comando (LazyConnectionDataSourceProxy)
+                DataSourceUtils.getConnection(dataSource).prepareStatement("SELECT 1").execute();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static void stubConnection(DataSource dataSource) throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        when(dataSource.getConnection()).thenReturn(connection);
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.controller;
+
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.example.entity.Category;
+import org.example.entity.Transaction;
+import org.example.entity.User;
+import org.example.service.JwtService;
+import org.example.service.TransactionService;
+import org.example.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Carga pelo caminho real de uma requisição (Tomcat, filtro JWT, controller e
+ * JDBC) nos dois modos de execução. As subclasses sobem o contexto com
+ * {@code spring.threads.virtual.enabled} ligado ou desligado; os números de
+ * vazão vão para o log para comparação, sem asserções de tempo.
+ */
+abstract class RequestPathLoadTest extends PostgresIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestPathLoadTest.class);
+
+    private static final int REQUESTS = 2_000;
+
+    // Acima do pool padrão do Tomcat (200) e muito acima do pool JDBC
+    private static final int CONCURRENT_CLIENTS = 400;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        User user = createUser("request-path");
+        Category salary = createCategory(user, "Salário", Transaction.TransactionType.INCOME);
+        for (int i = 0; i < 20; i++) {
+            transactionService.createTransaction(new Transaction("Salário " + i, new BigDecimal("100.00"),
+                    Transaction.TransactionType.INCOME, LocalDateTime.now().minusDays(i), user, salary));
+        }
+        token = jwtService.generateToken(user);
+    }
+
+    @Test
+    void servesConcurrentJdbcBackedRequestsInConfiguredThreadMode() throws Exception {
+        ServletWebServerApplicationContext webContext = (ServletWebServerApplicationContext) applicationContext;
+        TomcatWebServer webServer = (TomcatWebServer) webContext.getWebServer();
+        Object handlerExecutor = webServer.getTomcat().getConnector().getProtocolHandler().getExecutor();
+        assertThat(handlerExecutor instanceof VirtualThreadExecutor).isEqualTo(virtualThreads);
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/transactions"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+
+        List<Future<Integer>> responses = new ArrayList<>();
+        long start = System.nanoTime();
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENT_CLIENTS);
+        try {
+            for (int i = 0; i < REQUESTS; i++) {
+                responses.add(clients.submit(() -> client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()));
+            }
+            int ok = 0;
+            for (Future<Integer> response : responses) {
+                if (response.get(2, TimeUnit.MINUTES) == 200) {
+                    ok++;
+                }
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            logger.info("Modo {}: {} requisições ({} clientes simultâneos) em {} ms, {} req/s",
+                    virtualThreads ? "virtual" : "plataforma", REQUESTS, CONCURRENT_CLIENTS, elapsedMillis,
+                    elapsedMillis > 0 ? REQUESTS * 1000L / elapsedMillis : REQUESTS);
+
+            assertThat(ok).isEqualTo(REQUESTS);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.controller;
+
+import org.example.dto.ImportResultDto;
+import org.example.entity.User;
+import org.example.exception.GlobalExceptionHandler;
+import org.example.service.ReportService;
+import org.example.service.TransactionBatchService;
+import org.example.service.TransactionExportService;
+import org.example.service.TransactionImportService;
+import org.example.service.TransactionService;
+import org.example.service.UserWriteSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionControllerConcurrencyTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private TransactionImportService transactionImportService;
+
+    @Mock
+    private TransactionExportService transactionExportService;
+
+    @Mock
+    private TransactionBatchService transactionBatchService;
+
+    @InjectMocks
+    private TransactionController controller;
+
+    private final UserWriteSerializer serializer = new UserWriteSerializer();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private MockMvc mockMvc;
+
+    private UsernamePasswordAuthenticationToken authentication;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(serializer, "stripes", 16);
+        ReflectionTestUtils.setField(serializer, "lockTimeout", Duration.ofMillis(100));
+        ReflectionTestUtils.setField(serializer, "maxWaiters", 32);
+        serializer.init();
+
+        User user = new User("ana", "ana@example.com", "secret", "Ana");
+        user.setId(42L);
+        authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void secondConcurrentWriteForSameUserReturns429() throws Exception {
+        CountDownLatch firstHoldsLock = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+
+        // O serviço real adquire o lock do usuário em volta da transação; aqui a primeira
+        // remoção segura o lock até a segunda requisição desistir de esperar
+        doAnswer(invocation -> {
+            User user = invocation.getArgument(1);
+            serializer.run(user.getId(), () -> {
+                if (invocation.<Long>getArgument(0) == 1L) {
+                    firstHoldsLock.countDown();
+                    await(releaseFirst);
+                }
+            });
+            return null;
+        }).when(transactionService).deleteTransaction(anyLong(), any(User.class));
+
+        Future<Integer> first = executor.submit(() -> mockMvc.perform(delete("/api/transactions/1").principal(authentication))
+                .andReturn().getResponse().getStatus());
+        assertThat(firstHoldsLock.await(5, TimeUnit.SECONDS)).isTrue();
+
+        mockMvc.perform(delete("/api/transactions/2").principal(authentication))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.status").value(429));
+
+        releaseFirst.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(200);
+        assertThat(serializer.getStats().get("timeouts")).isEqualTo(1L);
+    }
+
+    @Test
+    void importInterruptedByConcurrentWriteReturns429WithProgress() throws Exception {
+        when(transactionImportService.importTransactions(any(User.class), any(),
+                eq(TransactionImportService.ImportFormat.CSV)))
+                .thenReturn(ImportResultDto.builder()
+                        .format("CSV")
+                        .importedRows(1000)
+                        .completed(false)
+                        .failedLine(1002L)
+                        .failureReason("Tempo esgotado aguardando outra operação do usuário; tente novamente")
+                        .retryable(true)
+                        .build());
+
+        mockMvc.perform(multipart("/api/transactions/import")
+                        .file(new MockMultipartFile("file", "extrato.csv", "text/csv", new byte[0]))
+                        .principal(authentication))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.importedRows").value(1000))
+                .andExpect(jsonPath("$.failedLine").value(1002));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
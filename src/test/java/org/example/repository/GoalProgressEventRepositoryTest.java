@@ -0,0 +1,71 @@
+package org.example.repository;
+
+import org.example.entity.GoalProgressEvent;
+import org.example.entity.Transaction;
+import org.example.entity.User;
+import org.example.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIfEnvironmentVariable(named = "TEST_DATABASE_URL", matches = ".+")
+class GoalProgressEventRepositoryTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private GoalProgressEventRepository eventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void eventsClaimedByOneInstanceAreSkippedByAnother() throws Exception {
+        User user = createUser("goal-events");
+        eventRepository.saveAll(List.of(
+                new GoalProgressEvent(user.getId(), null, Transaction.TransactionType.EXPENSE, null, new BigDecimal("10.00")),
+                new GoalProgressEvent(user.getId(), null, Transaction.TransactionType.INCOME, null, new BigDecimal("20.00"))));
+
+        CountDownLatch claimed = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Primeira "instância": reivindica os eventos e segura a transação aberta
+        Future<Integer> first = executor.submit(() -> transactionTemplate.execute(status -> {
+            List<GoalProgressEvent> events = eventRepository.lockPendingByUserId(user.getId());
+            claimed.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            eventRepository.deleteAllInBatch(events);
+            return events.size();
+        }));
+        assertThat(claimed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        List<GoalProgressEvent> second = transactionTemplate.execute(status ->
+                eventRepository.lockPendingByUserId(user.getId()));
+        assertThat(second).isEmpty();
+
+        release.countDown();
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(transactionTemplate.execute(status -> eventRepository.lockPendingByUserId(user.getId()))).isEmpty();
+    }
+}
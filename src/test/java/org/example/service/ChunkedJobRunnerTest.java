@@ -0,0 +1,130 @@
+package org.example.service;
+
+import org.example.entity.JobRun;
+import org.example.repository.JobRunRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChunkedJobRunnerTest {
+
+    private static final String JOB = "test-job";
+
+    @Mock
+    private JobRunRepository jobRunRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ChunkedJobRunner runner;
+
+    private final List<Long> processed = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(runner, "chunkSize", 2);
+        ReflectionTestUtils.setField(runner, "parallelism", 1);
+        ReflectionTestUtils.setField(runner, "staleAfter", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(runner, "resumeWindow", Duration.ofHours(12));
+        ReflectionTestUtils.setField(runner, "maxAttempts", 3);
+        runner.start();
+
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        lenient().when(jobRunRepository.saveAndFlush(any(JobRun.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Long> ids = List.of(1L, 2L, 3L, 4L, 5L);
+        runner.register(JOB,
+                (afterId, limit) -> ids.stream().filter(id -> id > afterId).limit(limit).toList(),
+                chunk -> {
+                    processed.addAll(chunk);
+                    return chunk.size();
+                });
+    }
+
+    @AfterEach
+    void tearDown() {
+        runner.stop();
+    }
+
+    @Test
+    void sweepResumesFailedRunFromCheckpoint() {
+        JobRun failed = run(JobRun.Status.FAILED, LocalDateTime.now().minusHours(1), 1);
+        failed.setCheckpointId(2L);
+        when(jobRunRepository.findTopByJobNameOrderByIdDesc(JOB)).thenReturn(Optional.of(failed));
+        when(jobRunRepository.findFirstByJobNameOrderByIdDesc(JOB)).thenReturn(Optional.of(failed));
+
+        runner.resumeInterruptedRuns();
+
+        assertThat(processed).containsExactly(3L, 4L, 5L);
+        assertThat(failed.getStatus()).isEqualTo(JobRun.Status.COMPLETED);
+        assertThat(failed.getAttempts()).isEqualTo(2);
+    }
+
+    @Test
+    void sweepResumesRunningRunWithoutRecentCheckpoint() {
+        JobRun crashed = run(JobRun.Status.RUNNING, LocalDateTime.now().minusHours(2), 1);
+        crashed.setUpdatedAt(LocalDateTime.now().minusHours(1));
+        crashed.setCheckpointId(4L);
+        when(jobRunRepository.findTopByJobNameOrderByIdDesc(JOB)).thenReturn(Optional.of(crashed));
+        when(jobRunRepository.findFirstByJobNameOrderByIdDesc(JOB)).thenReturn(Optional.of(crashed));
+
+        runner.resumeInterruptedRuns();
+
+        assertThat(processed).containsExactly(5L);
+        assertThat(crashed.getStatus()).isEqualTo(JobRun.Status.COMPLETED);
+    }
+
+    @Test
+    void sweepLeavesActiveRunsAndExhaustedRunsAlone() {
+        JobRun active = run(JobRun.Status.RUNNING, LocalDateTime.now().minusMinutes(5), 1);
+        when(jobRunRepository.findTopByJobNameOrderByIdDesc(JOB)).thenReturn(Optional.of(active));
+        runner.resumeInterruptedRuns();
+
+        JobRun exhausted = run(JobRun.Status.FAILED, LocalDateTime.now().minusHours(1), 3);
+        when(jobRunRepository.findTopByJobNameOrderByIdDesc(JOB)).thenReturn(Optional.of(exhausted));
+        runner.resumeInterruptedRuns();
+
+        JobRun expired = run(JobRun.Status.FAILED, LocalDateTime.now().minusHours(13), 1);
+        when(jobRunRepository.findTopByJobNameOrderByIdDesc(JOB)).thenReturn(Optional.of(expired));
+        runner.resumeInterruptedRuns();
+
+        assertThat(processed).isEmpty();
+    }
+
+    private static JobRun run(JobRun.Status status, LocalDateTime startedAt, int attempts) {
+        JobRun run = new JobRun(JOB);
+        run.setId(1L);
+        run.setStatus(status);
+        run.setStartedAt(startedAt);
+        run.setUpdatedAt(startedAt);
+        run.setAttempts(attempts);
+        return run;
+    }
+}
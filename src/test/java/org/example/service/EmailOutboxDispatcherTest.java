@@ -0,0 +1,213 @@
+package org.example.service;
+
+import org.example.entity.EmailOutboxMessage;
+import org.example.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Exercita o EmailOutboxDispatcher contra um servidor SMTP substituto que
+ * aceita, recusa destinatários ou fica fora do ar. O repositório é simulado
+ * em memória com a mesma regra de seleção do lockDue.
+ */
+class EmailOutboxDispatcherTest {
+
+    private final List<EmailOutboxMessage> outbox = new ArrayList<>();
+
+    private final FakeSmtpServer smtp = new FakeSmtpServer();
+
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        EmailOutboxRepository repository = mock(EmailOutboxRepository.class);
+        when(repository.lockDue(any(LocalDateTime.class), anyInt())).thenAnswer(invocation -> {
+            LocalDateTime now = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            return outbox.stream()
+                    .filter(message -> message.getStatus() == EmailOutboxMessage.Status.PENDING)
+                    .filter(message -> !message.getNextAttemptAt().isAfter(now))
+                    .limit(limit)
+                    .toList();
+        });
+
+        dispatcher = new EmailOutboxDispatcher();
+        ReflectionTestUtils.setField(dispatcher, "emailOutboxRepository", repository);
+        ReflectionTestUtils.setField(dispatcher, "mailSender", smtp);
+        ReflectionTestUtils.setField(dispatcher, "mailExecutor", new SyncTaskExecutor());
+        ReflectionTestUtils.setField(dispatcher, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(dispatcher, "from", "");
+        ReflectionTestUtils.setField(dispatcher, "concurrency", 4);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 20);
+        ReflectionTestUtils.setField(dispatcher, "lease", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 8);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoff", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(dispatcher, "maxBackoff", Duration.ofHours(6));
+        ReflectionTestUtils.setField(dispatcher, "failureThreshold", 3);
+        ReflectionTestUtils.setField(dispatcher, "openDuration", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(dispatcher, "sentRetention", Duration.ofDays(7));
+    }
+
+    @Test
+    void deliversPendingMessagesOverOneConnectionAndMarksThemSent() {
+        enqueue("ana@example.com", "bia@example.com", "caio@example.com");
+
+        dispatcher.poll();
+
+        assertThat(smtp.connections).isEqualTo(1);
+        assertThat(smtp.delivered).containsExactly("ana@example.com", "bia@example.com", "caio@example.com");
+        assertThat(outbox).allSatisfy(message -> {
+            assertThat(message.getStatus()).isEqualTo(EmailOutboxMessage.Status.SENT);
+            assertThat(message.getSentAt()).isNotNull();
+        });
+    }
+
+    @Test
+    void rejectedRecipientIsRetriedWithBackoffWhileTheRestIsSent() {
+        enqueue("ana@example.com", "bad@example.com");
+        smtp.rejected.add("bad@example.com");
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.poll();
+
+        EmailOutboxMessage sent = outbox.get(0);
+        EmailOutboxMessage rejected = outbox.get(1);
+        assertThat(sent.getStatus()).isEqualTo(EmailOutboxMessage.Status.SENT);
+        assertThat(rejected.getStatus()).isEqualTo(EmailOutboxMessage.Status.PENDING);
+        assertThat(rejected.getAttempts()).isEqualTo(1);
+        assertThat(rejected.getLastError()).contains("bad@example.com");
+        assertThat(rejected.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(30));
+        // Falha parcial não conta para o circuito
+        assertThat(dispatcher.getStats().get("consecutiveFailures")).isEqualTo(0);
+
+        // Segunda tentativa ainda recusada: o atraso dobra
+        makeDue(rejected);
+        before = LocalDateTime.now();
+        dispatcher.poll();
+        assertThat(rejected.getAttempts()).isEqualTo(2);
+        assertThat(rejected.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(60));
+    }
+
+    @Test
+    void messageIsMovedToDeadAfterMaxAttempts() {
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 2);
+        enqueue("bad@example.com");
+        smtp.rejected.add("bad@example.com");
+        EmailOutboxMessage message = outbox.get(0);
+
+        dispatcher.poll();
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxMessage.Status.PENDING);
+
+        makeDue(message);
+        dispatcher.poll();
+        assertThat(message.getStatus()).isEqualTo(EmailOutboxMessage.Status.DEAD);
+        assertThat(message.getAttempts()).isEqualTo(2);
+
+        // DEAD não é mais retirado
+        makeDue(message);
+        dispatcher.poll();
+        assertThat(smtp.connections).isEqualTo(2);
+    }
+
+    @Test
+    void circuitOpensWhenServerIsDownAndProbesWithOneBatchAfterwards() throws Exception {
+        ReflectionTestUtils.setField(dispatcher, "failureThreshold", 2);
+        ReflectionTestUtils.setField(dispatcher, "openDuration", Duration.ofMillis(200));
+        ReflectionTestUtils.setField(dispatcher, "initialBackoff", Duration.ZERO);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoff", Duration.ZERO);
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 2);
+        enqueue("a@example.com", "b@example.com", "c@example.com", "d@example.com", "e@example.com");
+        smtp.down = true;
+
+        dispatcher.poll();
+        assertThat(dispatcher.getStats().get("circuitOpen")).isEqualTo(true);
+        int attemptsWhileDown = smtp.connections;
+        assertThat(attemptsWhileDown).isEqualTo(2);
+
+        // Circuito aberto: nenhuma conexão nova
+        dispatcher.poll();
+        assertThat(smtp.connections).isEqualTo(attemptsWhileDown);
+
+        Thread.sleep(300);
+        smtp.down = false;
+
+        // Meio aberto: apenas um lote de teste, que fecha o circuito ao ser aceito
+        dispatcher.poll();
+        assertThat(smtp.connections).isEqualTo(attemptsWhileDown + 1);
+        assertThat(smtp.delivered).hasSize(2);
+        assertThat(dispatcher.getStats().get("consecutiveFailures")).isEqualTo(0);
+
+        dispatcher.poll();
+        assertThat(smtp.delivered).hasSize(5);
+        assertThat(outbox).allSatisfy(message ->
+                assertThat(message.getStatus()).isEqualTo(EmailOutboxMessage.Status.SENT));
+    }
+
+    private void enqueue(String... recipients) {
+        for (String recipient : recipients) {
+            EmailOutboxMessage message = new EmailOutboxMessage(1L, recipient, "Assunto", "Corpo");
+            message.setId((long) outbox.size() + 1);
+            message.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+            outbox.add(message);
+        }
+    }
+
+    private static void makeDue(EmailOutboxMessage message) {
+        message.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+    }
+
+    /**
+     * Substituto do servidor SMTP: cada chamada a send(array) equivale a uma
+     * conexão. Destinatários recusados voltam em MailSendException com as
+     * mensagens que falharam, como o JavaMailSenderImpl faz.
+     */
+    private static class FakeSmtpServer extends JavaMailSenderImpl {
+        private final Set<String> rejected = new HashSet<>();
+        private final List<String> delivered = new ArrayList<>();
+        private volatile boolean down;
+        private int connections;
+
+        @Override
+        public void send(SimpleMailMessage... messages) {
+            connections++;
+            if (down) {
+                throw new MailSendException("Connection refused: smtp.example.com:587");
+            }
+            Map<Object, Exception> failed = new LinkedHashMap<>();
+            for (SimpleMailMessage message : messages) {
+                String recipient = message.getTo()[0];
+                if (rejected.contains(recipient)) {
+                    failed.put(message, new MailSendException("550 Mailbox unavailable: " + recipient));
+                } else {
+                    delivered.add(recipient);
+                }
+            }
+            if (!failed.isEmpty()) {
+                throw new MailSendException(failed);
+            }
+        }
+    }
+}
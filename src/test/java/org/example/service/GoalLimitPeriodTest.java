@@ -0,0 +1,132 @@
+package org.example.service;
+
+import org.example.dto.TransactionDelta;
+import org.example.entity.Category;
+import org.example.entity.Goal;
+import org.example.entity.Transaction;
+import org.example.entity.User;
+import org.example.repository.GoalRepository;
+import org.example.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Metas de Limite de Gastos acumulam as despesas do mês corrente e recomeçam a
+ * cada mês, de modo que o alerta de limite excedido pode voltar a ser emitido.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_DATABASE_URL", matches = ".+")
+class GoalLimitPeriodTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDate currentMonth = YearMonth.now().atDay(1);
+
+    private final LocalDate previousMonth = YearMonth.now().minusMonths(1).atDay(1);
+
+    private User user;
+
+    private Category groceries;
+
+    private Goal goal;
+
+    @BeforeEach
+    void setUp() {
+        user = createUser("goal-limit");
+        groceries = createCategory(user, "Mercado", Transaction.TransactionType.EXPENSE);
+
+        Goal newGoal = new Goal("Mercado do mês", null, new BigDecimal("100.00"), Goal.GoalType.EXPENSE_LIMIT,
+                LocalDateTime.now().minusMonths(2), LocalDateTime.now().plusYears(1), user);
+        newGoal.setCategory(groceries);
+        goal = goalService.createGoal(newGoal);
+    }
+
+    @Test
+    void newGoalStartsInCurrentMonth() {
+        assertThat(reload().getPeriodStart()).isEqualTo(currentMonth);
+    }
+
+    @Test
+    void limitExceededLastMonthAlertsAgainThisMonth() {
+        endedLastMonthWith("150.00");
+
+        applyExpense(LocalDateTime.now(), "120.00");
+
+        Goal stored = reload();
+        assertThat(stored.getCurrentAmount()).isEqualByComparingTo("120.00");
+        assertThat(stored.getPeriodStart()).isEqualTo(currentMonth);
+        assertThat(budgetAlerts()).isEqualTo(1);
+
+        // Já ultrapassado neste mês: novas despesas não repetem o alerta
+        applyExpense(LocalDateTime.now(), "10.00");
+        assertThat(reload().getCurrentAmount()).isEqualByComparingTo("130.00");
+        assertThat(budgetAlerts()).isEqualTo(1);
+    }
+
+    @Test
+    void expenseDatedInAnotherMonthDoesNotCountTowardLimit() {
+        applyExpense(LocalDateTime.now(), "40.00");
+        applyExpense(previousMonth.atTime(12, 0), "500.00");
+
+        assertThat(reload().getCurrentAmount()).isEqualByComparingTo("40.00");
+        assertThat(budgetAlerts()).isZero();
+    }
+
+    @Test
+    void resetClearsLimitsStillHoldingPreviousMonth() {
+        endedLastMonthWith("80.00");
+
+        assertThat(goalService.resetExpiredLimitPeriods()).isPositive();
+
+        Goal stored = reload();
+        assertThat(stored.getCurrentAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(stored.getPeriodStart()).isEqualTo(currentMonth);
+
+        // Idempotente: uma segunda passada não altera a meta
+        Long version = stored.getVersion();
+        goalService.resetExpiredLimitPeriods();
+        assertThat(reload().getVersion()).isEqualTo(version);
+    }
+
+    private void endedLastMonthWith(String amount) {
+        jdbcTemplate.update("UPDATE goals SET current_amount = ?, period_start = ? WHERE id = ?",
+                new BigDecimal(amount), previousMonth, goal.getId());
+    }
+
+    private void applyExpense(LocalDateTime date, String amount) {
+        TransactionDelta delta = new TransactionDelta(groceries.getId(), Transaction.TransactionType.EXPENSE,
+                date, new BigDecimal(amount), 1);
+        transactionTemplate.executeWithoutResult(status -> goalService.applyGoalProgress(user, List.of(delta)));
+    }
+
+    private int budgetAlerts() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM email_outbox WHERE user_id = ? AND subject LIKE 'Orçamento Excedido%'",
+                Integer.class, user.getId());
+    }
+
+    private Goal reload() {
+        return goalRepository.findById(goal.getId()).orElseThrow();
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.service;
+
+import org.example.entity.Goal;
+import org.example.entity.Transaction;
+import org.example.repository.GoalRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GoalMatchIndexTest {
+
+    private static final Long USER_ID = 7L;
+
+    private static final String VERSION_SQL = "SELECT goals_version FROM users WHERE id = ?";
+
+    @Mock
+    private GoalRepository goalRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private GoalMatchIndex goalMatchIndex;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(goalMatchIndex, "maxUsers", 100L);
+        ReflectionTestUtils.setField(goalMatchIndex, "ttl", Duration.ofMinutes(30));
+        goalMatchIndex.init();
+    }
+
+    @Test
+    void refreshReusesCachedGoalsWhileVersionIsUnchanged() {
+        when(jdbcTemplate.queryForObject(VERSION_SQL, Long.class, USER_ID)).thenReturn(3L);
+        when(goalRepository.findActiveGoalKeysByUserId(USER_ID))
+                .thenReturn(List.<Object[]>of(new Object[]{10L, Goal.GoalType.SAVINGS, null}));
+
+        for (int i = 0; i < 5; i++) {
+            goalMatchIndex.refresh(USER_ID);
+            assertThat(goalMatchIndex.match(USER_ID, 1L, Transaction.TransactionType.INCOME, true)).containsExactly(10L);
+        }
+
+        verify(goalRepository, times(1)).findActiveGoalKeysByUserId(USER_ID);
+    }
+
+    @Test
+    void refreshReloadsWhenAnotherInstanceChangedTheGoals() {
+        when(jdbcTemplate.queryForObject(VERSION_SQL, Long.class, USER_ID)).thenReturn(3L, 4L);
+        when(goalRepository.findActiveGoalKeysByUserId(USER_ID))
+                .thenReturn(List.<Object[]>of(new Object[]{10L, Goal.GoalType.SAVINGS, null}))
+                .thenReturn(List.<Object[]>of(
+                        new Object[]{10L, Goal.GoalType.SAVINGS, null},
+                        new Object[]{11L, Goal.GoalType.EXPENSE_LIMIT, 2L}));
+
+        goalMatchIndex.refresh(USER_ID);
+        assertThat(goalMatchIndex.match(USER_ID, 2L, Transaction.TransactionType.EXPENSE, true)).isEmpty();
+
+        // Meta criada em outra instância: a versão do banco avançou
+        goalMatchIndex.refresh(USER_ID);
+        assertThat(goalMatchIndex.match(USER_ID, 2L, Transaction.TransactionType.EXPENSE, true)).containsExactly(11L);
+        assertThat(goalMatchIndex.match(USER_ID, 2L, Transaction.TransactionType.EXPENSE, false)).isEmpty();
+    }
+
+    @Test
+    void invalidateBumpsTheSharedVersion() {
+        goalMatchIndex.invalidate(USER_ID);
+
+        verify(jdbcTemplate).update(eq("UPDATE users SET goals_version = goals_version + 1 WHERE id = ?"), eq(USER_ID));
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.service;
+
+import org.example.dto.GoalUpdateRequest;
+import org.example.dto.TransactionDelta;
+import org.example.entity.Category;
+import org.example.entity.Goal;
+import org.example.entity.Transaction;
+import org.example.entity.User;
+import org.example.repository.GoalRepository;
+import org.example.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Estresse do UPDATE atômico de progresso das metas. Os deltas são aplicados
+ * em paralelo sem o lock por usuário, para que apenas o banco garanta a soma,
+ * enquanto edições da meta concorrem pela versão.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_DATABASE_URL", matches = ".+")
+class GoalProgressConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int THREADS = 8;
+
+    private static final int DELTAS_PER_THREAD = 50;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+
+    private User user;
+
+    private Category salary;
+
+    private Goal goal;
+
+    @BeforeEach
+    void setUp() {
+        user = createUser("goal-stress");
+        salary = createCategory(user, "Salário", Transaction.TransactionType.INCOME);
+
+        Goal newGoal = new Goal("Reserva", null, new BigDecimal("100000.00"), Goal.GoalType.SAVINGS,
+                LocalDateTime.now().minusDays(1), LocalDateTime.now().plusYears(1), user);
+        newGoal.setCategory(salary);
+        newGoal.setEmailAlerts(false);
+        goal = goalService.createGoal(newGoal);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void parallelProgressUpdatesAreNeverLost() throws Exception {
+        long initialVersion = reload().getVersion();
+
+        runConcurrently(THREADS, () -> applyProgress(BigDecimal.ONE));
+
+        Goal stored = reload();
+        int applied = THREADS * DELTAS_PER_THREAD;
+        assertThat(stored.getCurrentAmount()).isEqualByComparingTo(BigDecimal.valueOf(applied));
+        assertThat(stored.getVersion()).isEqualTo(initialVersion + applied);
+    }
+
+    @Test
+    void editWithStaleVersionCannotOverwriteProgress() {
+        Long readVersion = reload().getVersion();
+        applyProgress(new BigDecimal("5.00"));
+
+        GoalUpdateRequest staleEdit = edit(readVersion);
+        staleEdit.setCurrentAmount(BigDecimal.ZERO);
+
+        assertThatThrownBy(() -> goalService.updateGoal(goal.getId(), user, staleEdit))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(reload().getCurrentAmount()).isEqualByComparingTo("5.00");
+    }
+
+    @Test
+    void editWithoutCurrentAmountKeepsProgress() {
+        applyProgress(new BigDecimal("7.50"));
+
+        goalService.updateGoal(goal.getId(), user, edit(reload().getVersion()));
+
+        Goal stored = reload();
+        assertThat(stored.getName()).isEqualTo("Reserva editada");
+        assertThat(stored.getCurrentAmount()).isEqualByComparingTo("7.50");
+    }
+
+    @Test
+    void concurrentEditsNeverLoseParallelProgress() throws Exception {
+        AtomicBoolean progressDone = new AtomicBoolean();
+        AtomicInteger acceptedEdits = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        // Um editor relê a versão e regrava a meta enquanto o progresso é aplicado
+        Future<?> editor = executor.submit(() -> {
+            while (!progressDone.get() || acceptedEdits.get() == 0) {
+                try {
+                    goalService.updateGoal(goal.getId(), user, edit(reload().getVersion()));
+                    acceptedEdits.incrementAndGet();
+                } catch (ObjectOptimisticLockingFailureException e) {
+                    conflicts.incrementAndGet();
+                }
+            }
+        });
+
+        runConcurrently(THREADS, () -> applyProgress(BigDecimal.ONE));
+        progressDone.set(true);
+        editor.get(30, TimeUnit.SECONDS);
+
+        assertThat(acceptedEdits.get()).isPositive();
+        assertThat(reload().getCurrentAmount())
+                .isEqualByComparingTo(BigDecimal.valueOf(THREADS * DELTAS_PER_THREAD));
+    }
+
+    private void runConcurrently(int threads, Runnable delta) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            workers.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < DELTAS_PER_THREAD; j++) {
+                    delta.run();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(60, TimeUnit.SECONDS);
+        }
+    }
+
+    private void applyProgress(BigDecimal amount) {
+        TransactionDelta delta = new TransactionDelta(salary.getId(), Transaction.TransactionType.INCOME, null, amount, 1);
+        transactionTemplate.executeWithoutResult(status -> goalService.applyGoalProgress(user, List.of(delta)));
+    }
+
+    private GoalUpdateRequest edit(Long version) {
+        GoalUpdateRequest request = new GoalUpdateRequest();
+        request.setVersion(version);
+        request.setName("Reserva editada");
+        request.setTargetAmount(goal.getTargetAmount());
+        request.setType(goal.getType());
+        request.setStartDate(goal.getStartDate());
+        request.setTargetDate(goal.getTargetDate());
+        return request;
+    }
+
+    private Goal reload() {
+        return goalRepository.findById(goal.getId()).orElseThrow();
+    }
+}
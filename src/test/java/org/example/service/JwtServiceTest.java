@@ -0,0 +1,120 @@
+package org.example.service;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.example.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Locale;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtServiceTest.class);
+
+    private static final String SECRET = "test-secret-with-at-least-thirty-two-bytes-0123456789";
+
+    private JwtService jwtService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = newService(SECRET, 60_000);
+        user = new User("ana", "ana@example.com", "secret", "Ana");
+    }
+
+    @Test
+    void verifiesTokenOnceAndServesLaterCallsFromCache() {
+        String token = jwtService.generateToken(user);
+
+        Optional<JwtService.VerifiedToken> first = jwtService.verify(token);
+        Optional<JwtService.VerifiedToken> second = jwtService.verify(token);
+
+        assertThat(first).isPresent();
+        assertThat(first.get().getUsername()).isEqualTo("ana");
+        assertThat(second.get()).isSameAs(first.get());
+        assertThat(jwtService.isTokenValid(token, user)).isTrue();
+    }
+
+    @Test
+    void rejectsTamperedTokenEvenAfterOriginalIsCached() {
+        String token = jwtService.generateToken(user);
+        jwtService.verify(token);
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThat(jwtService.verify(tampered)).isEmpty();
+    }
+
+    @Test
+    void rejectsTokenSignedWithAnotherKey() {
+        String foreign = newService(SECRET + "-other", 60_000).generateToken(user);
+
+        assertThat(jwtService.verify(foreign)).isEmpty();
+    }
+
+    @Test
+    void rejectsExpiredToken() {
+        JwtService expiring = newService(SECRET, -1_000);
+        String token = expiring.generateToken(user);
+
+        assertThat(expiring.verify(token)).isEmpty();
+        assertThat(expiring.isTokenValid(token, user)).isFalse();
+    }
+
+    /**
+     * Compara a verificação atual (parser pré-construído e cache de tokens
+     * verificados) com o caminho anterior, que montava a chave e o parser e
+     * analisava o token a cada chamada. Apenas reporta os números; fica fora
+     * da execução padrão e roda com {@code mvn test -Pbenchmarks}.
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmarkCachedVerificationAgainstPerCallParsing() {
+        String token = jwtService.generateToken(user);
+        int iterations = 200_000;
+
+        // Aquecimento do JIT nos dois caminhos
+        measure(() -> parseWithFreshParser(token), iterations / 4);
+        measure(() -> jwtService.verify(token), iterations / 4);
+
+        double perCallNanos = measure(() -> parseWithFreshParser(token), iterations);
+        double cachedNanos = measure(() -> jwtService.verify(token), iterations);
+
+        logger.info("JWT verificação: parser por chamada {} ns/op, verify com cache {} ns/op ({}x)",
+                Math.round(perCallNanos), Math.round(cachedNanos),
+                String.format(Locale.ROOT, "%.1f", perCallNanos / cachedNanos));
+    }
+
+    private static double measure(Runnable operation, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        return (System.nanoTime() - start) / (double) iterations;
+    }
+
+    private static void parseWithFreshParser(String token) {
+        Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token);
+    }
+
+    private static JwtService newService(String secret, int expiration) {
+        JwtService service = new JwtService();
+        ReflectionTestUtils.setField(service, "secret", secret);
+        ReflectionTestUtils.setField(service, "jwtExpiration", expiration);
+        ReflectionTestUtils.setField(service, "verifiedCacheSize", 100L);
+        service.init();
+        return service;
+    }
+}
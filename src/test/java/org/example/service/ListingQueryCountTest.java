@@ -0,0 +1,118 @@
+package org.example.service;
+
+import org.example.dto.CursorPageDto;
+import org.example.dto.GoalViewDto;
+import org.example.dto.TransactionViewDto;
+import org.example.entity.Category;
+import org.example.entity.Goal;
+import org.example.entity.Transaction;
+import org.example.entity.User;
+import org.example.repository.GoalRepository;
+import org.example.repository.TransactionRepository;
+import org.example.support.PostgresIntegrationTest;
+import org.example.support.QueryCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cada listagem deve custar um único SELECT, independentemente do número de
+ * linhas: a categoria vem no entity graph ou na projeção, e o acesso a ela
+ * depois do fim da transação não dispara consultas (open-in-view desligado).
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_DATABASE_URL", matches = ".+")
+class ListingQueryCountTest extends PostgresIntegrationTest {
+
+    private static final int ROWS = 30;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private GoalService goalService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = createUser("listing");
+        Category food = createCategory(user, "Alimentação", Transaction.TransactionType.EXPENSE);
+        Category rent = createCategory(user, "Moradia", Transaction.TransactionType.EXPENSE);
+        Category salary = createCategory(user, "Salário", Transaction.TransactionType.INCOME);
+        Category[] categories = {food, rent, salary};
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ROWS; i++) {
+            Category category = categories[i % categories.length];
+            transactionRepository.save(new Transaction("Lançamento " + i, new BigDecimal("10.00"),
+                    category.getType(), now.minusDays(i), user, category));
+        }
+        for (int i = 0; i < 6; i++) {
+            Goal goal = new Goal("Meta " + i, null, new BigDecimal("1000.00"), Goal.GoalType.EXPENSE_LIMIT,
+                    now.minusDays(10), now.plusDays(20), user);
+            goal.setCategory(categories[i % 2]);
+            goalRepository.save(goal);
+        }
+    }
+
+    @Test
+    void transactionEntityListingFetchesCategoriesInOneQuery() {
+        QueryCounter.reset();
+        List<Transaction> transactions = transactionService.getTransactionsByUser(user);
+        transactions.forEach(transaction -> assertThat(transaction.getCategory().getName()).isNotBlank());
+
+        assertThat(transactions).hasSize(ROWS);
+        assertThat(QueryCounter.count()).isEqualTo(1);
+    }
+
+    @Test
+    void transactionPageFetchesCategoriesInOneQuery() {
+        QueryCounter.reset();
+        CursorPageDto<Transaction> page = transactionService.getTransactionPage(user, null, 10);
+        page.getItems().forEach(transaction -> assertThat(transaction.getCategory().getName()).isNotBlank());
+
+        assertThat(page.getItems()).hasSize(10);
+        assertThat(QueryCounter.count()).isEqualTo(1);
+    }
+
+    @Test
+    void transactionViewListingIsOneQuery() {
+        QueryCounter.reset();
+        List<TransactionViewDto> views = transactionService.getTransactionViewsByUser(user);
+
+        assertThat(views).hasSize(ROWS).allSatisfy(view -> assertThat(view.getCategory().getName()).isNotBlank());
+        assertThat(QueryCounter.count()).isEqualTo(1);
+    }
+
+    @Test
+    void goalEntityListingFetchesCategoriesInOneQuery() {
+        QueryCounter.reset();
+        List<Goal> goals = goalService.getGoalsByUser(user);
+        goals.forEach(goal -> assertThat(goal.getCategory().getName()).isNotBlank());
+
+        assertThat(goals).hasSize(6);
+        assertThat(QueryCounter.count()).isEqualTo(1);
+    }
+
+    @Test
+    void goalViewListingIsOneQuery() {
+        QueryCounter.reset();
+        List<GoalViewDto> views = goalService.getGoalViewsByUser(user);
+
+        assertThat(views).hasSize(6).allSatisfy(view -> assertThat(view.getCategory().getName()).isNotBlank());
+        assertThat(QueryCounter.count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.service;
+
+import org.example.dto.MonthlyReportDto;
+import org.example.entity.User;
+import org.example.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIfEnvironmentVariable(named = "TEST_DATABASE_URL", matches = ".+")
+class MonthlyReportSnapshotServiceTest extends PostgresIntegrationTest {
+
+    private static final int CLOSED_PERIOD = 202001;
+
+    @Autowired
+    private MonthlyReportSnapshotService snapshotService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = createUser("snapshots");
+    }
+
+    @Test
+    void regenerationWithoutConcurrentWriteIsStored() {
+        long version = transactionTemplate.execute(status -> snapshotService.beginRegeneration(user.getId(), CLOSED_PERIOD));
+
+        assertThat(transactionTemplate.execute(status ->
+                snapshotService.store(user.getId(), CLOSED_PERIOD, version, report("100.00")))).isTrue();
+        assertThat(snapshotService.find(user.getId(), CLOSED_PERIOD))
+                .hasValueSatisfying(stored -> assertThat(stored.getTotalIncome()).isEqualByComparingTo("100.00"));
+    }
+
+    @Test
+    void writeCommittedDuringRegenerationKeepsSnapshotStale() {
+        // Primeira leitura do mês: ainda não há linha, a regeneração cria o marcador
+        long version = transactionTemplate.execute(status -> snapshotService.beginRegeneration(user.getId(), CLOSED_PERIOD));
+        MonthlyReportDto builtBeforeWrite = report("100.00");
+
+        // Escrita retroativa confirmada entre a leitura do relatório e a gravação
+        transactionTemplate.executeWithoutResult(status -> snapshotService.markStale(user.getId(), List.of(CLOSED_PERIOD)));
+
+        assertThat(transactionTemplate.execute(status ->
+                snapshotService.store(user.getId(), CLOSED_PERIOD, version, builtBeforeWrite))).isFalse();
+        assertThat(snapshotService.find(user.getId(), CLOSED_PERIOD)).isEmpty();
+
+        // A próxima regeneração parte da nova versão e grava
+        long next = transactionTemplate.execute(status -> snapshotService.beginRegeneration(user.getId(), CLOSED_PERIOD));
+        assertThat(next).isGreaterThan(version);
+        assertThat(transactionTemplate.execute(status ->
+                snapshotService.store(user.getId(), CLOSED_PERIOD, next, report("150.00")))).isTrue();
+    }
+
+    @Test
+    void writeToAlreadyStaleSnapshotStillInvalidatesRegeneration() {
+        long first = transactionTemplate.execute(status -> snapshotService.beginRegeneration(user.getId(), CLOSED_PERIOD));
+        transactionTemplate.execute(status -> snapshotService.store(user.getId(), CLOSED_PERIOD, first, report("100.00")));
+        transactionTemplate.executeWithoutResult(status -> snapshotService.markAllStale(user.getId()));
+
+        long version = transactionTemplate.execute(status -> snapshotService.beginRegeneration(user.getId(), CLOSED_PERIOD));
+        transactionTemplate.executeWithoutResult(status -> snapshotService.markStale(user.getId(), List.of(CLOSED_PERIOD)));
+
+        assertThat(transactionTemplate.execute(status ->
+                snapshotService.store(user.getId(), CLOSED_PERIOD, version, report("120.00")))).isFalse();
+    }
+
+    private static MonthlyReportDto report(String income) {
+        MonthlyReportDto report = new MonthlyReportDto();
+        report.setYear(2020);
+        report.setMonth(1);
+        report.setTotalIncome(new BigDecimal(income));
+        report.setTotalExpense(BigDecimal.ZERO);
+        report.setBalance(new BigDecimal(income));
+        return report;
+    }
+}
@@ -0,0 +1,169 @@
+package org.example.service;
+
+import org.example.dto.ImportResultDto;
+import org.example.entity.Category;
+import org.example.entity.Transaction;
+import org.example.entity.User;
+import org.example.exception.BusinessException;
+import org.example.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@EnabledIfEnvironmentVariable(named = "TEST_DATABASE_URL", matches = ".+")
+class TransactionImportServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    private Category groceries;
+
+    @BeforeEach
+    void setUp() {
+        user = createUser("import");
+        groceries = createCategory(user, "Alimentação", Transaction.TransactionType.EXPENSE);
+    }
+
+    @AfterEach
+    void restoreBatchSize() {
+        ReflectionTestUtils.setField(importService, "batchSize", 1000);
+    }
+
+    @Test
+    void incomeRowIsNotFiledUnderExpenseCategoryWithSameName() throws IOException {
+        ImportResultDto result = importService.importTransactions(user, csv(
+                "date;description;amount;type;category",
+                "10/01/2024;Supermercado;-120,50;EXPENSE;alimentação",
+                "11/01/2024;Reembolso do vale;80,00;INCOME;Alimentação"),
+                TransactionImportService.ImportFormat.CSV);
+
+        assertThat(result.getImportedRows()).isEqualTo(2);
+        assertThat(result.getCategoriesCreated()).isEqualTo(1);
+
+        List<String> rows = jdbcTemplate.queryForList(
+                "SELECT t.type || '/' || c.type FROM transactions t JOIN categories c ON c.id = t.category_id " +
+                "WHERE t.user_id = ? ORDER BY t.transaction_date", String.class, user.getId());
+        assertThat(rows).containsExactly("EXPENSE/EXPENSE", "INCOME/INCOME");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT category_id FROM transactions WHERE user_id = ? AND type = 'EXPENSE'",
+                Long.class, user.getId())).isEqualTo(groceries.getId());
+    }
+
+    @Test
+    void failedBatchReportsCommittedRowsAndLineToResumeFrom() throws IOException {
+        ReflectionTestUtils.setField(importService, "batchSize", 2);
+
+        // O valor da linha 5 não cabe em NUMERIC(10, 2): o segundo lote (linhas 4 e 5) é desfeito
+        ImportResultDto result = importService.importTransactions(user, csv(
+                "date;description;amount;type;category",
+                "10/01/2024;Feira;-50,00;EXPENSE;Alimentação",
+                "11/01/2024;Padaria;-12,00;EXPENSE;Alimentação",
+                "12/01/2024;Açougue;-80,00;EXPENSE;Alimentação",
+                "13/01/2024;Atacado;-100000000000,00;EXPENSE;Alimentação",
+                "14/01/2024;Mercado;-30,00;EXPENSE;Alimentação"),
+                TransactionImportService.ImportFormat.CSV);
+
+        assertThat(result.isCompleted()).isFalse();
+        assertThat(result.isRetryable()).isFalse();
+        assertThat(result.getImportedRows()).isEqualTo(2);
+        assertThat(result.getFailedLine()).isEqualTo(4L);
+        assertThat(result.getFailureReason()).isNotBlank();
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT description FROM transactions WHERE user_id = ? ORDER BY transaction_date",
+                String.class, user.getId())).containsExactly("Feira", "Padaria");
+    }
+
+    @Test
+    void readFailureAfterCommittedBatchReportsLineToResumeFrom() throws IOException {
+        ReflectionTestUtils.setField(importService, "batchSize", 2);
+
+        // A conexão cai depois da linha 4: o primeiro lote (linhas 2 e 3) já foi confirmado
+        InputStream interrupted = failingAfter(String.join("\n",
+                "date;description;amount;type;category",
+                "10/01/2024;Feira;-50,00;EXPENSE;Alimentação",
+                "11/01/2024;Padaria;-12,00;EXPENSE;Alimentação",
+                "12/01/2024;Açougue;-80,00;EXPENSE;Alimentação") + "\n");
+
+        ImportResultDto result = importService.importTransactions(user, interrupted,
+                TransactionImportService.ImportFormat.CSV);
+
+        assertThat(result.isCompleted()).isFalse();
+        assertThat(result.getImportedRows()).isEqualTo(2);
+        assertThat(result.getFailedLine()).isEqualTo(4L);
+        assertThat(result.getFailureReason()).isEqualTo("Conexão interrompida");
+    }
+
+    @Test
+    void ofxErrorsReferToLineWhereTransactionStarts() throws IOException {
+        ImportResultDto result = importService.importTransactions(user, csv(
+                "<OFX>",
+                "<BANKTRANLIST>",
+                "<STMTTRN>",
+                "<TRNAMT>-10.00",
+                "<DTPOSTED>20240110",
+                "<NAME>Padaria",
+                "</STMTTRN>",
+                "<STMTTRN>",
+                "<DTPOSTED>20240111",
+                "<NAME>Sem valor",
+                "</STMTTRN>",
+                "</BANKTRANLIST>",
+                "</OFX>"),
+                TransactionImportService.ImportFormat.OFX);
+
+        assertThat(result.getImportedRows()).isEqualTo(1);
+        assertThat(result.getErrors()).containsExactly("Linha 8: Valor ausente");
+    }
+
+    @Test
+    void invalidHeaderFailsWithoutPartialResult() {
+        assertThatThrownBy(() -> importService.importTransactions(user, csv("data;valor"),
+                TransactionImportService.ImportFormat.CSV))
+                .isInstanceOf(BusinessException.class);
+    }
+
+    private static InputStream csv(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static InputStream failingAfter(String content) {
+        ByteArrayInputStream data = new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                int b = data.read();
+                if (b == -1) {
+                    throw new IOException("Conexão interrompida");
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = data.read(buffer, offset, length);
+                if (n == -1) {
+                    throw new IOException("Conexão interrompida");
+                }
+                return n;
+            }
+        };
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.service;
+
+import org.example.entity.Category;
+import org.example.entity.Transaction;
+import org.example.entity.User;
+import org.example.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@EnabledIfEnvironmentVariable(named = "TEST_DATABASE_URL", matches = ".+")
+class TransactionPartitionServiceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private TransactionPartitionService partitionService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceLedgerService balanceLedgerService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    private Category salary;
+
+    @BeforeEach
+    void setUp() {
+        user = createUser("partitions");
+        salary = createCategory(user, "Salário", Transaction.TransactionType.INCOME);
+    }
+
+    @Test
+    void createsPartitionForMonthWhoseRowsLandedInDefault() {
+        // O último mês da janela de criação, sem partição: a linha cai na default
+        YearMonth month = YearMonth.now().plusMonths(3);
+        String name = "transactions_p" + month.format(DateTimeFormatter.ofPattern("yyyyMM"));
+        if (partitionService.listPartitions().contains(name)) {
+            jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + name);
+            jdbcTemplate.execute("INSERT INTO transactions_default SELECT * FROM " + name);
+            jdbcTemplate.execute("DROP TABLE " + name);
+        }
+        Transaction scheduled = createTransaction(month, "Salário agendado", "1000.00");
+        assertThat(countIn("transactions_default", scheduled.getId())).isEqualTo(1);
+
+        assertThat(partitionService.createFuturePartitions()).contains(name);
+
+        assertThat(partitionService.listPartitions()).contains(name);
+        assertThat(countIn(name, scheduled.getId())).isEqualTo(1);
+        assertThat(countIn("transactions_default", scheduled.getId())).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT pg_get_expr(relpartbound, oid) FROM pg_class WHERE relname = 'transactions_default'",
+                String.class)).isEqualTo("DEFAULT");
+        // Uma segunda passada não tem mais nada a fazer
+        assertThat(partitionService.createFuturePartitions()).doesNotContain(name);
+    }
+
+    @Test
+    void createsPartitionsForPastMonthsHeldInDefault() {
+        // Importação retroativa para um mês anterior a qualquer partição
+        String name = "transactions_p200305";
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+        Transaction backdated = createTransaction(YearMonth.of(2003, 5), "Salário retroativo", "300.00");
+        assertThat(countIn("transactions_default", backdated.getId())).isEqualTo(1);
+
+        assertThat(partitionService.createPartitions()).contains(name);
+
+        assertThat(partitionService.listPartitions()).contains(name);
+        assertThat(countIn(name, backdated.getId())).isEqualTo(1);
+        assertThat(countIn("transactions_default", backdated.getId())).isZero();
+        assertThat(partitionService.createPartitionsForDefaultRows()).doesNotContain(name);
+
+        jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + name);
+        jdbcTemplate.execute("DROP TABLE " + name);
+    }
+
+    @Test
+    void archivingPartitionRebuildsAggregatesOfAffectedUsers() {
+        YearMonth archivedMonth = YearMonth.of(2001, 1);
+        String name = "transactions_p200101";
+        jdbcTemplate.execute("DROP TABLE IF EXISTS archive." + name);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF transactions " +
+                "FOR VALUES FROM ('2001-01-01') TO ('2001-02-01')");
+
+        createTransaction(archivedMonth, "Salário antigo", "100.00");
+        createTransaction(YearMonth.now(), "Salário", "1000.00");
+        assertThat(balanceLedgerService.getBalance(user).getTotalIncome()).isEqualByComparingTo("1100.00");
+
+        ReflectionTestUtils.setField(partitionService, "retentionMonths", 12);
+        try {
+            assertThat(partitionService.archiveExpiredPartitions()).contains(name);
+        } finally {
+            ReflectionTestUtils.setField(partitionService, "retentionMonths", 0);
+        }
+
+        // Comportamento escolhido: os agregados refletem só as partições anexadas
+        assertThat(partitionService.listPartitions()).doesNotContain(name);
+        assertThat(balanceLedgerService.getBalance(user).getTotalIncome()).isEqualByComparingTo("1000.00");
+        assertThat(balanceLedgerService.verify(user.getId()).isConsistent()).isTrue();
+        assertThat(reportService.getMonthlyReport(user, 2001, 1).getTotalIncome()).isEqualByComparingTo("0");
+
+        // Uma reconstrução posterior não altera mais o saldo
+        balanceLedgerService.rebuild(user.getId());
+        assertThat(balanceLedgerService.getBalance(user).getTotalIncome()).isEqualByComparingTo("1000.00");
+
+        jdbcTemplate.execute("DROP TABLE archive." + name);
+    }
+
+    private Transaction createTransaction(YearMonth month, String description, String amount) {
+        return transactionService.createTransaction(new Transaction(description, new BigDecimal(amount),
+                Transaction.TransactionType.INCOME, month.atDay(10).atTime(12, 0), user, salary));
+    }
+
+    private int countIn(String table, Long id) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE id = ?", Integer.class, id);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.support;
+
+import org.example.entity.Category;
+import org.example.entity.Transaction;
+import org.example.entity.User;
+import org.example.repository.CategoryRepository;
+import org.example.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+/**
+ * Base dos testes que dependem do PostgreSQL (SQL nativo, partições, RETURNING).
+ * O Flyway cria o esquema ao subir o contexto. As subclasses são anotadas com
+ * {@code @EnabledIfEnvironmentVariable(named = "TEST_DATABASE_URL", matches = ".+")}
+ * e ficam desabilitadas quando nenhum banco de teste é informado.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public abstract class PostgresIntegrationTest {
+
+    @Autowired
+    protected UserRepository userRepository;
+
+    @Autowired
+    protected CategoryRepository categoryRepository;
+
+    // Nomes únicos: os testes compartilham o banco e não limpam os dados entre si
+    protected User createUser(String prefix) {
+        String username = prefix + "-" + UUID.randomUUID().toString().substring(0, 8);
+        return userRepository.save(new User(username, username + "@example.com", "secret", "Usuário " + prefix));
+    }
+
+    protected Category createCategory(User user, String name, Transaction.TransactionType type) {
+        return categoryRepository.save(new Category(name, null, Category.TransactionType.valueOf(type.name()), user));
+    }
+}